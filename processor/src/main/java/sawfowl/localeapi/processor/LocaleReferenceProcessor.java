@@ -0,0 +1,263 @@
+package sawfowl.localeapi.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * Generates a <b>'ClassName_LocaleAccessor'</b> class for each LocaleReference class annotated with <b>@ConfigSerializable</b>.<br>
+ * The accessor reads and writes the fields directly, with node paths stored in constants,
+ * so LocaleAPI does not need the reflection based object mapper for such classes.<br>
+ * Classes that can not be accessed directly (private fields, final fields, constraints and other processors on fields, generic classes)
+ * are skipped with a note and continue to use the object mapper.
+ */
+@SupportedAnnotationTypes(LocaleReferenceProcessor.CONFIG_SERIALIZABLE)
+public class LocaleReferenceProcessor extends AbstractProcessor {
+
+	static final String CONFIG_SERIALIZABLE = "org.spongepowered.configurate.objectmapping.ConfigSerializable";
+	private static final String LOCALE_REFERENCE = "sawfowl.localeapi.api.LocaleReference";
+	private static final String ACCESSOR = "sawfowl.localeapi.api.LocaleReferenceAccessor";
+	private static final String SETTING = "org.spongepowered.configurate.objectmapping.meta.Setting";
+	private static final String COMMENT = "org.spongepowered.configurate.objectmapping.meta.Comment";
+	private static final String LOCALISED_COMMENT = "sawfowl.localeapi.api.LocalisedComment";
+	private static final String CONFIGURATE_PACKAGE = "org.spongepowered.configurate.";
+	private static final String NODE = "org.spongepowered.configurate.ConfigurationNode";
+	private static final String COMMENTED_NODE = "org.spongepowered.configurate.CommentedConfigurationNodeIntermediary";
+	private static final String EXCEPTION = "org.spongepowered.configurate.serialize.SerializationException";
+	private static final String TYPE_TOKEN = "io.leangen.geantyref.TypeToken";
+	private static final String SUFFIX = "_LocaleAccessor";
+	/**
+	 * Naming scheme of the default object mapper. Used for the fields with <b>@Setting</b> without a value, so the accessor reads the same keys as the mapper.
+	 */
+	private static final String NAMING_SCHEME = "org.spongepowered.configurate.util.NamingSchemes.LOWER_CASE_DASHED";
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		TypeElement localeReference = processingEnv.getElementUtils().getTypeElement(LOCALE_REFERENCE);
+		if(localeReference == null) return false;
+		TypeMirror referenceType = processingEnv.getTypeUtils().erasure(localeReference.asType());
+		for(TypeElement annotation : annotations) {
+			for(Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if(element.getKind() != ElementKind.CLASS) continue;
+				TypeElement type = (TypeElement) element;
+				if(!processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(type.asType()), referenceType)) continue;
+				List<FieldInfo> fields = new ArrayList<FieldInfo>();
+				String reason = collect(type, fields);
+				if(reason != null) {
+					processingEnv.getMessager().printMessage(Kind.NOTE, "LocaleReference accessor is not generated for " + type.getQualifiedName() + ": " + reason + ". The object mapper will be used.", type);
+					continue;
+				}
+				try {
+					write(type, fields);
+				} catch (IOException e) {
+					processingEnv.getMessager().printMessage(Kind.ERROR, "Failed to write LocaleReference accessor for " + type.getQualifiedName() + ": " + e.getLocalizedMessage(), type);
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return The reason why the accessor can not be generated, or null.
+	 */
+	private String collect(TypeElement type, List<FieldInfo> fields) {
+		if(type.getModifiers().contains(Modifier.ABSTRACT)) return "the class is abstract";
+		if(!type.getTypeParameters().isEmpty()) return "the class is generic";
+		for(Element enclosing = type; enclosing instanceof TypeElement typeElement; enclosing = enclosing.getEnclosingElement()) {
+			if(typeElement.getModifiers().contains(Modifier.PRIVATE)) return "the class " + typeElement.getSimpleName() + " is private";
+			if(typeElement.getNestingKind() == NestingKind.MEMBER && !typeElement.getModifiers().contains(Modifier.STATIC)) return "the class " + typeElement.getSimpleName() + " is an inner class";
+			if(typeElement.getNestingKind() == NestingKind.LOCAL || typeElement.getNestingKind() == NestingKind.ANONYMOUS) return "the class is local";
+		}
+		if(ElementFilter.constructorsIn(type.getEnclosedElements()).stream().noneMatch(constructor -> constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE))) return "the class has no accessible constructor without parameters";
+		PackageElement typePackage = processingEnv.getElementUtils().getPackageOf(type);
+		for(TypeElement current = type; current != null; current = superclass(current)) {
+			boolean samePackage = processingEnv.getElementUtils().getPackageOf(current).equals(typePackage);
+			for(VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+				if(field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.TRANSIENT)) continue;
+				AnnotationMirror setting = null;
+				AnnotationMirror comment = null;
+				for(AnnotationMirror mirror : field.getAnnotationMirrors()) {
+					String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+					if(name.equals(SETTING)) {
+						setting = mirror;
+					} else if(name.equals(COMMENT)) {
+						comment = mirror;
+					} else if(name.startsWith(CONFIGURATE_PACKAGE) || name.equals(LOCALISED_COMMENT)) return "the field " + field.getSimpleName() + " uses @" + mirror.getAnnotationType().asElement().getSimpleName();
+				}
+				if(setting == null) continue;
+				if(fields.stream().anyMatch(info -> info.name().contentEquals(field.getSimpleName()))) return "the field " + field.getSimpleName() + " is hidden by a field with the same name";
+				if(field.getModifiers().contains(Modifier.PRIVATE)) return "the field " + field.getSimpleName() + " is private";
+				if(field.getModifiers().contains(Modifier.FINAL)) return "the field " + field.getSimpleName() + " is final";
+				if(!samePackage && !field.getModifiers().contains(Modifier.PUBLIC)) return "the field " + field.getSimpleName() + " is not accessible from the package of the class";
+				if(hasTypeVariable(field.asType())) return "the type of the field " + field.getSimpleName() + " uses type variables";
+				String key = stringValue(setting, "value");
+				fields.add(new FieldInfo(
+					field.getSimpleName().toString(),
+					key == null || key.isEmpty() ? NAMING_SCHEME + ".coerce(" + literal(field.getSimpleName().toString()) + ")" : literal(key),
+					typeName(field.asType(), true),
+					comment == null ? null : stringValue(comment, "value"),
+					comment != null && Boolean.TRUE.equals(value(comment, "override"))
+				));
+			}
+		}
+		return null;
+	}
+
+	private void write(TypeElement type, List<FieldInfo> fields) throws IOException {
+		String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+		String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+		String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_') + SUFFIX;
+		String typeName = type.getQualifiedName().toString();
+		try(Writer writer = processingEnv.getFiler().createSourceFile(packageName.isEmpty() ? simpleName : packageName + "." + simpleName, type).openWriter()) {
+			StringBuilder source = new StringBuilder();
+			if(!packageName.isEmpty()) source.append("package ").append(packageName).append(";\n\n");
+			source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+			source.append("public final class ").append(simpleName).append(" implements ").append(ACCESSOR).append('<').append(typeName).append("> {\n\n");
+			for(FieldInfo field : fields) {
+				source.append("\tpublic static final Object[] PATH_").append(field.name).append(" = {").append(field.key).append("};\n");
+				source.append("\tprivate static final ").append(TYPE_TOKEN).append('<').append(field.type).append("> TYPE_").append(field.name).append(" = new ").append(TYPE_TOKEN).append('<').append(field.type).append(">() {};\n");
+			}
+			if(!fields.isEmpty()) source.append('\n');
+			source.append("\t@Override\n\tpublic Class<").append(typeName).append("> type() {\n\t\treturn ").append(typeName).append(".class;\n\t}\n\n");
+			source.append("\t@Override\n\tpublic ").append(typeName).append(" load(").append(NODE).append(" node) throws ").append(EXCEPTION).append(" {\n");
+			source.append("\t\t").append(typeName).append(" reference = new ").append(typeName).append("();\n");
+			if(!fields.isEmpty()) source.append("\t\t").append(NODE).append(" child;\n");
+			for(FieldInfo field : fields) {
+				source.append("\t\tchild = node.node(PATH_").append(field.name).append(");\n");
+				source.append("\t\tif(!child.virtual()) {\n");
+				source.append("\t\t\t").append(field.type).append(" value = child.get(TYPE_").append(field.name).append(");\n");
+				source.append("\t\t\tif(value != null) reference.").append(field.name).append(" = value;\n");
+				source.append("\t\t}\n");
+			}
+			source.append("\t\treturn reference;\n\t}\n\n");
+			source.append("\t@Override\n\tpublic void save(").append(typeName).append(" reference, ").append(NODE).append(" node) throws ").append(EXCEPTION).append(" {\n");
+			if(!fields.isEmpty()) source.append("\t\t").append(NODE).append(" child;\n");
+			for(FieldInfo field : fields) {
+				source.append("\t\tchild = node.node(PATH_").append(field.name).append(");\n");
+				source.append("\t\tchild.set(TYPE_").append(field.name).append(", reference.").append(field.name).append(");\n");
+				if(field.comment != null) {
+					source.append("\t\tif(child instanceof ").append(COMMENTED_NODE).append("<?> commented) commented.")
+						.append(field.overrideComment ? "comment(" : "commentIfAbsent(").append(literal(field.comment)).append(");\n");
+				}
+			}
+			source.append("\t}\n\n}\n");
+			writer.write(source.toString());
+		}
+	}
+
+	private TypeElement superclass(TypeElement type) {
+		TypeMirror superclass = type.getSuperclass();
+		if(superclass.getKind() != TypeKind.DECLARED) return null;
+		TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+		return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+	}
+
+	private boolean hasTypeVariable(TypeMirror type) {
+		switch(type.getKind()) {
+			case TYPEVAR: return true;
+			case ARRAY: return hasTypeVariable(((ArrayType) type).getComponentType());
+			case WILDCARD:
+				WildcardType wildcard = (WildcardType) type;
+				return (wildcard.getExtendsBound() != null && hasTypeVariable(wildcard.getExtendsBound())) || (wildcard.getSuperBound() != null && hasTypeVariable(wildcard.getSuperBound()));
+			case DECLARED:
+				for(TypeMirror argument : ((DeclaredType) type).getTypeArguments()) if(hasTypeVariable(argument)) return true;
+				return false;
+			default: return false;
+		}
+	}
+
+	/**
+	 * Source representation of the type without type annotations.
+	 */
+	private String typeName(TypeMirror type, boolean box) {
+		switch(type.getKind()) {
+			case ARRAY: return typeName(((ArrayType) type).getComponentType(), false) + "[]";
+			case WILDCARD:
+				WildcardType wildcard = (WildcardType) type;
+				if(wildcard.getExtendsBound() != null) return "? extends " + typeName(wildcard.getExtendsBound(), true);
+				if(wildcard.getSuperBound() != null) return "? super " + typeName(wildcard.getSuperBound(), true);
+				return "?";
+			case DECLARED:
+				DeclaredType declared = (DeclaredType) type;
+				StringBuilder name = new StringBuilder(((TypeElement) declared.asElement()).getQualifiedName());
+				if(!declared.getTypeArguments().isEmpty()) {
+					name.append('<');
+					for(int i = 0; i < declared.getTypeArguments().size(); i++) {
+						if(i > 0) name.append(", ");
+						name.append(typeName(declared.getTypeArguments().get(i), true));
+					}
+					name.append('>');
+				}
+				return name.toString();
+			default:
+				if(box && type.getKind().isPrimitive()) return processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(type.getKind())).getQualifiedName().toString();
+				return type.toString();
+		}
+	}
+
+	private Object value(AnnotationMirror mirror, String name) {
+		for(Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+			if(entry.getKey().getSimpleName().contentEquals(name)) return entry.getValue().getValue();
+		}
+		return null;
+	}
+
+	private String stringValue(AnnotationMirror mirror, String name) {
+		Object value = value(mirror, name);
+		return value == null ? null : value.toString();
+	}
+
+	private String literal(String value) {
+		StringBuilder literal = new StringBuilder("\"");
+		for(char c : value.toCharArray()) {
+			switch(c) {
+				case '"': literal.append("\\\""); break;
+				case '\\': literal.append("\\\\"); break;
+				case '\n': literal.append("\\n"); break;
+				case '\r': literal.append("\\r"); break;
+				case '\t': literal.append("\\t"); break;
+				default:
+					if(c < 0x20) {
+						literal.append(String.format("\\u%04x", (int) c));
+					} else literal.append(c);
+			}
+		}
+		return literal.append('"').toString();
+	}
+
+	/**
+	 * @param key - Java expression of the node key.
+	 */
+	private record FieldInfo(String name, String key, String type, String comment, boolean overrideComment) {}
+
+}
@@ -0,0 +1,242 @@
+package sawfowl.localeapi.jmh;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.spongepowered.api.data.persistence.DataContainer;
+import org.spongepowered.api.data.persistence.DataFormats;
+import org.spongepowered.api.data.persistence.DataQuery;
+import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.loader.ConfigurationLoader;
+import org.spongepowered.configurate.serialize.TypeSerializer;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import sawfowl.localeapi.api.serializetools.SerializeOptions;
+import sawfowl.localeapi.api.serializetools.itemstack.SerializedItemStack;
+import sawfowl.localeapi.api.serializetools.itemstack.SerializedItemStackJsonNbt;
+import sawfowl.localeapi.api.serializetools.itemstack.SerializedItemStackPlainNBT;
+
+/**
+ * Writing and reading items with each item serializer variant and serialized item class.<br>
+ * <b>VARIANT_n</b> runs the {@link ItemStack} serializer of {@link SerializeOptions#selectSerializersCollection(int)}, the other values run the serialized item classes.
+ * The items are {@link StubItemStack}s with components taken from a corpus of JSON strings in the form written by Sponge's <b>DataFormats.JSON</b>.
+ * Data formats and the variant 3 serializer are the stand-ins from {@link SpongeStubs}, so their own cost differs from a server, the cost of the plugin code does not.<br>
+ * The size of the written config is reported in the <b>outputChars</b> counter. Allocation rate is reported by the <b>gc</b> profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ItemStackSerializationBenchmark {
+
+	@Param({"VARIANT_1", "VARIANT_2", "VARIANT_3", "VARIANT_4", "SerializedItemStack", "SerializedItemStackJsonNbt", "SerializedItemStackPlainNBT"})
+	public String serializer;
+
+	@Param({"ENCHANTED_SWORD", "WRITTEN_BOOK", "SHULKER_BOX"})
+	public String item;
+
+	@Param({"HOCON", "JSON"})
+	public String format;
+
+	private String itemType;
+	private String components;
+	private String written;
+	private int variant;
+	private TypeSerializer<ItemStack> itemSerializer;
+	private ItemStack itemStack;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		SpongeStubs.install();
+		switch(item) {
+			case "ENCHANTED_SWORD":
+				itemType = "minecraft:diamond_sword";
+				components = enchantedSword().toString();
+				break;
+			case "WRITTEN_BOOK":
+				itemType = "minecraft:written_book";
+				components = writtenBook(20).toString();
+				break;
+			default:
+				itemType = "minecraft:shulker_box";
+				components = shulkerBox().toString();
+				break;
+		}
+		variant = serializer.startsWith("VARIANT_") ? Integer.parseInt(serializer.substring(8)) : 1;
+		itemSerializer = SerializeOptions.selectSerializersCollection(variant).get(ItemStack.class);
+		DataContainer container = DataContainer.createNew();
+		container.set(DataQuery.of("ItemType"), itemType);
+		container.set(DataQuery.of("Count"), 1);
+		container.set(DataQuery.of("components"), DataFormats.JSON.get().read(components));
+		itemStack = ItemStack.builder().fromContainer(container).build();
+		written = write();
+	}
+
+	@Benchmark
+	public String serialize(OutputSize size) throws ConfigurateException {
+		String result = write();
+		size.outputChars = result.length();
+		return result;
+	}
+
+	@Benchmark
+	public Object deserialize() throws ConfigurateException {
+		ConfigurationNode node = loader(new StringWriter(), written).load();
+		if(serializer.startsWith("VARIANT_")) return itemSerializer.deserialize(ItemStack.class, node);
+		switch(serializer) {
+			case "SerializedItemStack": return node.get(SerializedItemStack.class).getComponentsAsString();
+			case "SerializedItemStackJsonNbt": return node.get(SerializedItemStackJsonNbt.class).getComponents().toString();
+			default: return node.get(SerializedItemStackPlainNBT.class).getComponents();
+		}
+	}
+
+	private String write() throws ConfigurateException {
+		StringWriter writer = new StringWriter();
+		ConfigurationLoader<? extends ConfigurationNode> loader = loader(writer, null);
+		ConfigurationNode node = loader.createNode();
+		if(serializer.startsWith("VARIANT_")) {
+			itemSerializer.serialize(ItemStack.class, itemStack, node);
+			loader.save(node);
+			return writer.toString();
+		}
+		switch(serializer) {
+			case "SerializedItemStack":
+				node.set(SerializedItemStack.class, new SerializedItemStack(itemType, 1, components));
+				break;
+			case "SerializedItemStackJsonNbt":
+				node.set(SerializedItemStackJsonNbt.class, new SerializedItemStackJsonNbt(itemType, 1, JsonParser.parseString(components).getAsJsonObject()));
+				break;
+			default:
+				node.set(SerializedItemStackPlainNBT.class, new SerializedItemStackPlainNBT(itemType, 1, components));
+				break;
+		}
+		loader.save(node);
+		return writer.toString();
+	}
+
+	private ConfigurationLoader<? extends ConfigurationNode> loader(StringWriter writer, String source) {
+		if(format.equals("JSON")) return SerializeOptions.createJsonConfigurationLoader(variant).sink(() -> new BufferedWriter(writer)).source(() -> new BufferedReader(new StringReader(source))).build();
+		return SerializeOptions.createHoconConfigurationLoader(variant).sink(() -> new BufferedWriter(writer)).source(() -> new BufferedReader(new StringReader(source))).build();
+	}
+
+	private static JsonObject enchantedSword() {
+		JsonObject components = new JsonObject();
+		JsonObject levels = new JsonObject();
+		levels.addProperty("minecraft:sharpness", 5);
+		levels.addProperty("minecraft:unbreaking", 3);
+		levels.addProperty("minecraft:mending", 1);
+		levels.addProperty("minecraft:looting", 3);
+		levels.addProperty("minecraft:sweeping_edge", 3);
+		levels.addProperty("minecraft:fire_aspect", 2);
+		JsonObject enchantments = new JsonObject();
+		enchantments.add("levels", levels);
+		components.add("minecraft:enchantments", enchantments);
+		components.addProperty("minecraft:custom_name", "{\"text\":\"Blade of the Fallen King\",\"color\":\"gold\",\"italic\":false,\"bold\":true}");
+		JsonArray lore = new JsonArray();
+		for(int i = 0; i < 4; i++) lore.add("{\"text\":\"Forged in the depths, line " + i + "\",\"color\":\"gray\",\"italic\":true}");
+		components.add("minecraft:lore", lore);
+		components.addProperty("minecraft:damage", 143);
+		components.addProperty("minecraft:repair_cost", 7);
+		JsonArray modifiers = new JsonArray();
+		JsonObject modifier = new JsonObject();
+		modifier.addProperty("type", "minecraft:generic.attack_damage");
+		modifier.addProperty("id", "minecraft:custom_damage");
+		modifier.addProperty("amount", 9.5);
+		modifier.addProperty("operation", "add_value");
+		modifier.addProperty("slot", "mainhand");
+		modifiers.add(modifier);
+		JsonObject attributes = new JsonObject();
+		attributes.add("modifiers", modifiers);
+		components.add("minecraft:attribute_modifiers", attributes);
+		JsonObject pluginData = new JsonObject();
+		JsonObject pluginComponents = new JsonObject();
+		JsonObject shop = new JsonObject();
+		shop.addProperty("Price", 1500.0);
+		shop.addProperty("Seller", "8667ba71-b85a-4004-af54-457a9734eed7");
+		pluginComponents.add("shop", shop);
+		pluginData.add("PluginComponents", pluginComponents);
+		components.add("minecraft:custom_data", pluginData);
+		return components;
+	}
+
+	private static JsonObject writtenBook(int pages) {
+		JsonObject content = new JsonObject();
+		JsonObject title = new JsonObject();
+		title.addProperty("raw", "Server Rules and Guide");
+		content.add("title", title);
+		content.addProperty("author", "Administration");
+		content.addProperty("generation", 0);
+		content.addProperty("resolved", true);
+		JsonArray list = new JsonArray();
+		for(int i = 0; i < pages; i++) {
+			JsonObject page = new JsonObject();
+			page.addProperty("raw", "{\"text\":\"Page " + (i + 1) + "\\n\",\"bold\":true,\"extra\":[{\"text\":\"Do not grief the builds of other players. Respect everyone in chat. Trading scams are punished with a ban. Read the rules of each world before building.\",\"bold\":false,\"color\":\"dark_gray\"}]}");
+			list.add(page);
+		}
+		content.add("pages", list);
+		JsonObject components = new JsonObject();
+		components.add("minecraft:written_book_content", content);
+		return components;
+	}
+
+	private static JsonObject shulkerBox() {
+		JsonArray container = new JsonArray();
+		for(int slot = 0; slot < 27; slot++) {
+			JsonObject stack = new JsonObject();
+			switch(slot % 3) {
+				case 0:
+					stack.addProperty("id", "minecraft:diamond_sword");
+					stack.addProperty("count", 1);
+					stack.add("components", enchantedSword());
+					break;
+				case 1:
+					stack.addProperty("id", "minecraft:written_book");
+					stack.addProperty("count", 1);
+					stack.add("components", writtenBook(3));
+					break;
+				default:
+					stack.addProperty("id", "minecraft:cobblestone");
+					stack.addProperty("count", 64);
+					break;
+			}
+			JsonObject entry = new JsonObject();
+			entry.addProperty("slot", slot);
+			entry.add("item", stack);
+			container.add(entry);
+		}
+		JsonObject components = new JsonObject();
+		components.add("minecraft:container", container);
+		components.addProperty("minecraft:custom_name", "{\"text\":\"Starter Kit\",\"color\":\"aqua\"}");
+		return components;
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class OutputSize {
+
+		/**
+		 * Length of the written config in characters.
+		 */
+		public long outputChars;
+
+	}
+
+}
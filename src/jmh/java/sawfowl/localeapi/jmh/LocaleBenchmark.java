@@ -0,0 +1,101 @@
+package sawfowl.localeapi.jmh;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.spongepowered.api.util.locale.Locales;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+
+import sawfowl.localeapi.api.LocaleService;
+import sawfowl.localeapi.api.Logger;
+import sawfowl.localeapi.api.PluginLocale;
+import sawfowl.localeapi.apiclasses.AbstractLocale;
+import sawfowl.localeapi.apiclasses.HoconLocale;
+import sawfowl.localeapi.apiclasses.JsonLocale;
+import sawfowl.localeapi.apiclasses.LegacyLocale;
+import sawfowl.localeapi.apiclasses.YamlLocale;
+
+/**
+ * {@link AbstractLocale#getComponent(Object...)} for each configuration type.<br>
+ * Every fourth message is stored as a JSON component, the others as legacy strings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LocaleBenchmark {
+
+	private static final String PLUGIN = "benchmark";
+
+	@Param({"HOCON", "YAML", "JSON", "PROPERTIES"})
+	public String type;
+
+	@Param({"200"})
+	public int keys;
+
+	private Path directory;
+	private AbstractLocale locale;
+	private Object[][] paths;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		SpongeStubs.install();
+		directory = Files.createTempDirectory("localeapi-bench");
+		Map<Locale, PluginLocale> locales = new ConcurrentHashMap<Locale, PluginLocale>();
+		LocaleService service = SpongeStubs.localeService(locales);
+		Logger logger = Logger.createJavaLogger("LocaleBenchmark");
+		String tag = Locales.DEFAULT.toLanguageTag();
+		switch(type) {
+			case "HOCON": locale = new HoconLocale(service, logger, directory, PLUGIN, tag); break;
+			case "YAML": locale = new YamlLocale(service, logger, directory, PLUGIN, tag); break;
+			case "JSON": locale = new JsonLocale(service, logger, directory, PLUGIN, tag); break;
+			default: locale = new LegacyLocale(service, logger, directory, PLUGIN, tag); break;
+		}
+		locales.put(Locales.DEFAULT, locale);
+		paths = new Object[keys][];
+		for(int i = 0; i < keys; i++) {
+			paths[i] = new Object[] {"Messages", "Key" + i};
+			if(i % 4 == 0) {
+				locale.checkComponent(true, Component.text("Localized component " + i, NamedTextColor.GREEN).append(Component.text(" %player%", NamedTextColor.YELLOW)), null, paths[i]);
+			} else locale.checkString("&aLocalized value &e" + i + " &7for %player%", null, paths[i]);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		try(Stream<Path> files = Files.walk(directory)) {
+			files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	public Component getComponent() {
+		if(next >= paths.length) next = 0;
+		return locale.getComponent(paths[next++]);
+	}
+
+	@Benchmark
+	public Component getMissingComponent() {
+		return locale.getComponent("Messages", "Missing");
+	}
+
+}
@@ -0,0 +1,102 @@
+package sawfowl.localeapi.jmh;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import sawfowl.localeapi.apiclasses.PropertiesSnapshot;
+
+/**
+ * Comparison of the previous <b>'*.properties'</b> backend (unbuffered FileReader, regex split on every list lookup)
+ * with {@link PropertiesSnapshot}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PropertiesLocaleBenchmark {
+
+	@Param({"100", "2000"})
+	public int keys;
+
+	private Path file;
+	private Properties legacy;
+	private PropertiesSnapshot snapshot;
+	private String[] listKeys;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		file = Files.createTempFile("localeapi-bench", ".properties");
+		Properties properties = new Properties();
+		listKeys = new String[keys / 4];
+		for(int i = 0; i < keys; i++) {
+			if(i % 4 == 0) {
+				listKeys[i / 4] = "messages.list." + i;
+				properties.setProperty(listKeys[i / 4], PropertiesSnapshot.join(List.of("&aLine one " + i, "&eLine two " + i, "&7Line three " + i, "&cLine four " + i)));
+			} else properties.setProperty("messages.string." + i, "&aLocalized value number " + i + " with some text");
+		}
+		try(Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			properties.store(writer, "");
+		}
+		legacy = legacyLoad();
+		snapshot = snapshotLoad();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Benchmark
+	public Properties legacyLoad() throws IOException {
+		Properties properties = new Properties();
+		try(FileReader reader = new FileReader(file.toFile())) {
+			properties.load(reader);
+		}
+		return properties;
+	}
+
+	@Benchmark
+	public PropertiesSnapshot snapshotLoad() throws IOException {
+		return PropertiesSnapshot.load(file);
+	}
+
+	@Benchmark
+	public List<String> legacyListLookup() {
+		String out = legacy.getProperty(nextListKey());
+		if(out == null) return new ArrayList<String>();
+		String spliter = "\n";
+		if(out.contains("%LINE_SEPARATOR%")) spliter = "%LINE_SEPARATOR%";
+		return Stream.of(out.split(spliter)).toList();
+	}
+
+	@Benchmark
+	public List<String> snapshotListLookup() {
+		return snapshot.getList(nextListKey());
+	}
+
+	private String nextListKey() {
+		if(next >= listKeys.length) next = 0;
+		return listKeys[next++];
+	}
+
+}
@@ -0,0 +1,309 @@
+package sawfowl.localeapi.jmh;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.spongepowered.api.Game;
+import org.spongepowered.api.ResourceKey;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.config.ConfigManager;
+import org.spongepowered.api.item.ItemType;
+import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.api.registry.BuilderProvider;
+import org.spongepowered.api.registry.FactoryProvider;
+import org.spongepowered.api.registry.Registry;
+import org.spongepowered.api.registry.RegistryKey;
+import org.spongepowered.api.registry.RegistryType;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.serialize.TypeSerializer;
+import org.spongepowered.configurate.serialize.TypeSerializerCollection;
+
+import net.kyori.adventure.key.Key;
+
+import sawfowl.localeapi.api.LocaleService;
+import sawfowl.localeapi.api.PluginLocale;
+import sawfowl.localeapi.api.Text;
+import sawfowl.localeapi.apiclasses.TextImpl;
+
+/**
+ * Minimal replacements of the Sponge services used on the benchmarked paths, so benchmarks run without a server.<br>
+ * Provided are {@link Game#builderProvider()} for {@link Text.Builder} and {@link ItemStack.Builder}, {@link Game#configManager()} serializers,
+ * the factories of resource keys, registry types, registry keys and data containers, and the item type and data format registries.<br>
+ * Item types are created on request for any key. Data formats are {@link StubDataContainer#json()} and {@link StubDataContainer#nbt()}.
+ */
+final class SpongeStubs {
+
+	private static final Map<String, ResourceKey> KEYS = new ConcurrentHashMap<String, ResourceKey>();
+	private static final Map<String, Object> REGISTRIES = new ConcurrentHashMap<String, Object>();
+	private static boolean installed;
+
+	private SpongeStubs() {}
+
+	static synchronized void install() {
+		if(installed) return;
+		BuilderProvider builders = stub(BuilderProvider.class, (name, args) -> {
+			if(name.equals("provide") && args[0] == Text.Builder.class) return new TextImpl().builder();
+			if(name.equals("provide") && args[0] == ItemStack.Builder.class) return StubItemStack.builder();
+			throw new UnsupportedOperationException("Builder is not stubbed: " + args[0]);
+		});
+		Map<Class<?>, Object> factoryCache = new ConcurrentHashMap<Class<?>, Object>();
+		FactoryProvider factories = stub(FactoryProvider.class, (name, args) -> {
+			if(name.equals("provide")) return factoryCache.computeIfAbsent((Class<?>) args[0], SpongeStubs::factory);
+			throw new UnsupportedOperationException("FactoryProvider." + name + " is not stubbed.");
+		});
+		TypeSerializerCollection serializers = TypeSerializerCollection.defaults().childBuilder().register(BlockState.class, new TypeSerializer<BlockState>() {
+			@Override
+			public BlockState deserialize(Type type, ConfigurationNode node) throws SerializationException {
+				throw new SerializationException("Block states are not available in benchmarks.");
+			}
+			@Override
+			public void serialize(Type type, BlockState obj, ConfigurationNode node) throws SerializationException {
+				throw new SerializationException("Block states are not available in benchmarks.");
+			}
+		}).register(ItemStack.class, new ItemStackContainerSerializer()).build();
+		ConfigManager configManager = stub(ConfigManager.class, (name, args) -> name.equals("serializers") ? serializers : null);
+		Game game = stub(Game.class, (name, args) -> switch(name) {
+			case "builderProvider" -> builders;
+			case "configManager" -> configManager;
+			case "factoryProvider" -> factories;
+			case "registry" -> registry((RegistryType<?>) args[0]);
+			case "findRegistry" -> Optional.of(registry((RegistryType<?>) args[0]));
+			default -> throw new UnsupportedOperationException("Game." + name + " is not stubbed.");
+		});
+		try {
+			for(Field field : Sponge.class.getDeclaredFields()) {
+				if(Modifier.isStatic(field.getModifiers()) && field.getType() == Game.class) {
+					field.setAccessible(true);
+					field.set(null, game);
+				}
+			}
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+		installed = true;
+	}
+
+	/**
+	 * A locale service holding the given locales. Only the methods used by the locale classes are stubbed.
+	 */
+	static LocaleService localeService(Map<Locale, PluginLocale> locales) {
+		return stub(LocaleService.class, (name, args) -> switch(name) {
+			case "getPluginLocales" -> locales;
+			case "getItemStackSerializerVariant" -> 1;
+			case "isCompactStorage" -> false;
+			case "getFallbackLocale", "getDefaultReference" -> null;
+			default -> throw new UnsupportedOperationException("LocaleService." + name + " is not stubbed.");
+		});
+	}
+
+	static ResourceKey resourceKey(String namespace, String value) {
+		return KEYS.computeIfAbsent(namespace + ":" + value, key -> proxy(ResourceKey.class, (proxy, method, args) -> switch(method.getName()) {
+			case "namespace" -> namespace;
+			case "value" -> value;
+			case "asString", "formatted", "toString" -> key;
+			case "key" -> proxy;
+			case "compareTo" -> key.compareTo(((Key) args[0]).asString());
+			case "equals" -> args[0] instanceof Key other && key.equals(other.asString());
+			case "hashCode" -> key.hashCode();
+			default -> unsupported(proxy, method, args, "ResourceKey");
+		}));
+	}
+
+	/**
+	 * The registry of the given type. Item types are created on request, data formats are fixed, other registries are empty.
+	 */
+	private static Object registry(RegistryType<?> type) {
+		return REGISTRIES.computeIfAbsent(type.location().asString(), location -> switch(type.location().value()) {
+			case "item" -> proxy(Registry.class, new StubRegistry(type, key -> proxy(ItemType.class, (proxy, method, args) -> switch(method.getName()) {
+				case "key" -> key;
+				case "findKey" -> Optional.of(key);
+				case "hashCode" -> System.identityHashCode(proxy);
+				case "equals" -> proxy == args[0];
+				case "toString" -> "ItemType[" + key.asString() + "]";
+				default -> unsupported(proxy, method, args, "ItemType");
+			})));
+			case "data_format" -> {
+				StubRegistry registry = new StubRegistry(type, null);
+				registry.register(resourceKey("sponge", "json"), StubDataContainer.json());
+				registry.register(resourceKey("sponge", "nbt"), StubDataContainer.nbt());
+				yield proxy(Registry.class, registry);
+			}
+			default -> proxy(Registry.class, new StubRegistry(type, null));
+		});
+	}
+
+	/**
+	 * Factories are matched by name, so the stubs do not depend on which factories exist in the current API version.
+	 */
+	private static Object factory(Class<?> type) {
+		String name = type.getName().substring(type.getName().lastIndexOf('.') + 1);
+		return proxy(type, (proxy, method, args) -> switch(name + "." + method.getName()) {
+			case "ResourceKey$Factory.of" -> resourceKey(args[0].toString(), args[1].toString());
+			case "ResourceKey$Factory.resolve" -> {
+				String key = args[0].toString();
+				int separator = key.indexOf(':');
+				yield separator < 0 ? resourceKey("minecraft", key) : resourceKey(key.substring(0, separator), key.substring(separator + 1));
+			}
+			case "ResourceKey$Factory.minecraft", "ResourceKey$Factory.sponge", "ResourceKey$Factory.brigadier", "ResourceKey$Factory.java" -> resourceKey(method.getName(), args[0].toString());
+			case "RegistryType$Factory.create" -> registryType(method.getReturnType(), (ResourceKey) args[0], (ResourceKey) args[1]);
+			case "RegistryKey$Factory.create" -> registryKey(method.getReturnType(), (RegistryType<?>) args[0], (ResourceKey) args[1]);
+			case "DataContainer$Factory.create", "DataContainer$Factory.createNew" -> StubDataContainer.create();
+			case "ItemStack$Factory.empty" -> StubItemStack.empty();
+			default -> unsupported(proxy, method, args, name);
+		});
+	}
+
+	/**
+	 * Stub of both {@link RegistryType} and its defaulted form.
+	 */
+	private static Object registryType(Class<?> type, ResourceKey root, ResourceKey location) {
+		return proxy(type, (proxy, method, args) -> switch(method.getName()) {
+			case "root" -> root;
+			case "location" -> location;
+			case "asDefaultedType" -> registryType(method.getReturnType(), root, location);
+			case "defaultHolder" -> (Supplier<Game>) Sponge::game;
+			case "get" -> registry((RegistryType<?>) proxy);
+			case "find" -> Optional.of(registry((RegistryType<?>) proxy));
+			case "equals" -> args[0] instanceof RegistryType<?> other && location.equals(other.location());
+			case "hashCode" -> location.hashCode();
+			case "toString" -> "RegistryType[" + location.asString() + "]";
+			default -> unsupported(proxy, method, args, "RegistryType");
+		});
+	}
+
+	/**
+	 * Stub of the registry key and of the references created from it.
+	 */
+	private static Object registryKey(Class<?> type, RegistryType<?> registryType, ResourceKey location) {
+		return proxy(type, (proxy, method, args) -> switch(method.getName()) {
+			case "registry" -> registryType;
+			case "location" -> location;
+			case "asReference", "asDefaultedReference" -> registryKey(method.getReturnType(), registryType, location);
+			case "get" -> handler(registry(registryType)).find(location).orElseThrow(() -> new IllegalStateException("No value " + location.asString() + " in " + registryType));
+			case "find" -> handler(registry(registryType)).find(location);
+			case "hashCode" -> location.hashCode();
+			case "equals" -> proxy == args[0];
+			case "toString" -> "RegistryKey[" + location.asString() + "]";
+			default -> unsupported(proxy, method, args, "RegistryKey");
+		});
+	}
+
+	private static StubRegistry handler(Object registry) {
+		return (StubRegistry) Proxy.getInvocationHandler(registry);
+	}
+
+	private static Object unsupported(Object proxy, Method method, Object[] args, String type) throws Throwable {
+		if(method.isDefault()) return InvocationHandler.invokeDefault(proxy, method, args);
+		throw new UnsupportedOperationException(type + "." + method.getName() + " is not stubbed.");
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return (T) Proxy.newProxyInstance(SpongeStubs.class.getClassLoader(), new Class<?>[] {type}, handler);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T stub(Class<T> type, Handler handler) {
+		return (T) Proxy.newProxyInstance(SpongeStubs.class.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+			switch(method.getName()) {
+				case "hashCode": return System.identityHashCode(proxy);
+				case "equals": return proxy == args[0];
+				case "toString": return "Stub" + type.getSimpleName();
+				default: return handler.invoke(method.getName(), args);
+			}
+		});
+	}
+
+	/**
+	 * Registry with the values stored by key. If the value factory is set, a missing value is created and stored on request.
+	 */
+	private static class StubRegistry implements InvocationHandler {
+
+		private final RegistryType<?> type;
+		private final Function<ResourceKey, Object> factory;
+		private final Map<String, Object> values = new ConcurrentHashMap<String, Object>();
+		private final Map<Object, ResourceKey> keys = new ConcurrentHashMap<Object, ResourceKey>();
+
+		StubRegistry(RegistryType<?> type, Function<ResourceKey, Object> factory) {
+			this.type = type;
+			this.factory = factory;
+		}
+
+		void register(ResourceKey key, Object value) {
+			values.put(key.asString(), value);
+			keys.put(value, key);
+		}
+
+		Optional<Object> find(ResourceKey key) {
+			Object value = values.get(key.asString());
+			if(value == null && factory != null) {
+				synchronized(this) {
+					value = values.get(key.asString());
+					if(value == null) register(key, value = factory.apply(key));
+				}
+			}
+			return Optional.ofNullable(value);
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch(method.getName()) {
+				case "type": return type;
+				case "value": return find(location(args[0])).orElseThrow(() -> new IllegalStateException("No value " + location(args[0]).asString() + " in " + type));
+				case "findValue": return find(location(args[0]));
+				case "valueKey": {
+					ResourceKey key = keys.get(args[0]);
+					if(key == null) throw new IllegalStateException("The value is not registered in " + type);
+					return key;
+				}
+				case "findValueKey": return Optional.ofNullable(keys.get(args[0]));
+				case "hashCode": return System.identityHashCode(proxy);
+				case "equals": return proxy == args[0];
+				case "toString": return "Registry[" + type.location().asString() + "]";
+				default: return unsupported(proxy, method, args, "Registry");
+			}
+		}
+
+		private static ResourceKey location(Object key) {
+			return key instanceof ResourceKey resourceKey ? resourceKey : ((RegistryKey<?>) key).location();
+		}
+
+	}
+
+	/**
+	 * Stand-in of the Sponge serializer of data serializable objects, used by item serializer variant 3.<br>
+	 * The item container is written to the node as nested maps and read back through {@link ItemStack.Builder}.
+	 */
+	private static class ItemStackContainerSerializer implements TypeSerializer<ItemStack> {
+
+		@Override
+		public ItemStack deserialize(Type type, ConfigurationNode node) throws SerializationException {
+			if(!(node.raw() instanceof Map<?, ?> map)) throw new SerializationException("Item must be a map.");
+			return ItemStack.builder().fromContainer(StubDataContainer.create(StubDataContainer.fromMap(map))).build();
+		}
+
+		@Override
+		public void serialize(Type type, ItemStack item, ConfigurationNode node) throws SerializationException {
+			node.raw(item == null ? null : StubDataContainer.toMap(item.toContainer()));
+		}
+
+	}
+
+	@FunctionalInterface
+	private interface Handler {
+		Object invoke(String name, Object[] args);
+	}
+
+}
@@ -0,0 +1,460 @@
+package sawfowl.localeapi.jmh;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.spongepowered.api.data.persistence.DataContainer;
+import org.spongepowered.api.data.persistence.DataFormat;
+import org.spongepowered.api.data.persistence.DataQuery;
+import org.spongepowered.api.data.persistence.DataView;
+import org.spongepowered.api.data.persistence.StringDataFormat;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Map backed {@link DataContainer} replacing the Sponge implementation in benchmarks.<br>
+ * Nested views share the map of their parent, values set from other views are copied. Only the methods used by the item serializers are implemented.<br>
+ * Also provides the stand-ins of <b>DataFormats.JSON</b> and <b>DataFormats.NBT</b> working with such containers.
+ */
+final class StubDataContainer implements InvocationHandler {
+
+	private static final byte TAG_END = 0;
+	private static final byte TAG_BYTE = 1;
+	private static final byte TAG_SHORT = 2;
+	private static final byte TAG_INT = 3;
+	private static final byte TAG_LONG = 4;
+	private static final byte TAG_FLOAT = 5;
+	private static final byte TAG_DOUBLE = 6;
+	private static final byte TAG_STRING = 8;
+	private static final byte TAG_LIST = 9;
+	private static final byte TAG_MAP = 10;
+	private static final byte TAG_BOOLEAN = 99;
+
+	private final Map<String, Object> values;
+	private final List<String> path;
+	private final DataContainer root;
+
+	private StubDataContainer(Map<String, Object> values, List<String> path, DataContainer root) {
+		this.values = values;
+		this.path = path;
+		this.root = root;
+	}
+
+	static DataContainer create() {
+		return create(new LinkedHashMap<String, Object>());
+	}
+
+	/**
+	 * @param values - Nested maps, lists and plain values. The map is used directly, not copied.
+	 */
+	static DataContainer create(Map<String, Object> values) {
+		return view(values, List.of(), null);
+	}
+
+	/**
+	 * Copying the values of the view to nested maps and lists.
+	 */
+	static Map<String, Object> toMap(DataView view) {
+		return copyMap(handler(view).values);
+	}
+
+	/**
+	 * Converting a raw value of a configuration node or any other map to the values of the container.
+	 */
+	@SuppressWarnings("unchecked")
+	static Map<String, Object> fromMap(Map<?, ?> map) {
+		return (Map<String, Object>) unwrap(map);
+	}
+
+	static StringDataFormat json() {
+		return proxy(StringDataFormat.class, (proxy, method, args) -> switch(method.getName()) {
+			case "read", "readFrom" -> fromJson(args[0] instanceof String string ? string : readText(args[0]));
+			case "write", "writeTo" -> {
+				if(args.length == 1) yield toJson((DataView) args[0]);
+				byte[] json = toJson((DataView) args[1]).getBytes(StandardCharsets.UTF_8);
+				if(args[0] instanceof Writer writer) {
+					writer.write(new String(json, StandardCharsets.UTF_8));
+				} else ((OutputStream) args[0]).write(json);
+				yield null;
+			}
+			default -> objectMethod(proxy, method, args, "JsonDataFormat");
+		});
+	}
+
+	static DataFormat nbt() {
+		return proxy(DataFormat.class, (proxy, method, args) -> switch(method.getName()) {
+			case "readFrom" -> {
+				DataInputStream in = new DataInputStream((InputStream) args[0]);
+				if(in.readByte() != TAG_MAP) throw new IOException("Root tag is not a compound.");
+				yield create(readMap(in));
+			}
+			case "writeTo" -> {
+				DataOutputStream out = new DataOutputStream((OutputStream) args[0]);
+				writeValue(out, handler((DataView) args[1]).values);
+				out.flush();
+				yield null;
+			}
+			default -> objectMethod(proxy, method, args, "NbtDataFormat");
+		});
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		switch(method.getName()) {
+			case "get": return Optional.ofNullable(wrap(proxy, find(parts(args[0])), parts(args[0])));
+			case "getView": {
+				Object value = find(parts(args[0]));
+				return value instanceof Map ? Optional.of(wrap(proxy, value, parts(args[0]))) : Optional.empty();
+			}
+			case "set": {
+				put(parts(args[0]), unwrap(args[1]));
+				return proxy;
+			}
+			case "createView": {
+				Map<String, Object> map = args.length > 1 ? fromMap((Map<?, ?>) args[1]) : new LinkedHashMap<String, Object>();
+				put(parts(args[0]), map);
+				return wrap(proxy, map, parts(args[0]));
+			}
+			case "remove": {
+				List<String> parts = parts(args[0]);
+				Object parent = parts.size() == 1 ? values : find(parts.subList(0, parts.size() - 1));
+				if(parent instanceof Map<?, ?> map) map.remove(parts.get(parts.size() - 1));
+				return proxy;
+			}
+			case "contains": {
+				if(find(parts(args[0])) == null) return false;
+				if(args.length > 1) for(DataQuery query : (DataQuery[]) args[1]) if(find(parts(query)) == null) return false;
+				return true;
+			}
+			case "keys": {
+				Set<DataQuery> keys = new LinkedHashSet<DataQuery>();
+				collect(values, new ArrayList<String>(), (boolean) args[0], (key, value) -> keys.add(key));
+				return keys;
+			}
+			case "values": {
+				Map<DataQuery, Object> result = new LinkedHashMap<DataQuery, Object>();
+				collect(values, new ArrayList<String>(), (boolean) args[0], (key, value) -> result.put(key, wrap(proxy, value, key.parts())));
+				return result;
+			}
+			case "getMap": {
+				Object value = find(parts(args[0]));
+				return value instanceof Map<?, ?> map ? Optional.of(copyMap(map)) : Optional.empty();
+			}
+			case "getList": {
+				Object value = find(parts(args[0]));
+				return value instanceof List<?> list ? Optional.of(copyList(list)) : Optional.empty();
+			}
+			case "getString": {
+				Object value = find(parts(args[0]));
+				return value == null || value instanceof Map || value instanceof List ? Optional.empty() : Optional.of(value.toString());
+			}
+			case "getBoolean": {
+				Object value = find(parts(args[0]));
+				return value instanceof Boolean ? Optional.of(value) : value instanceof Number number ? Optional.of(number.intValue() != 0) : Optional.empty();
+			}
+			case "getByte": return number(args[0]).map(Number::byteValue);
+			case "getShort": return number(args[0]).map(Number::shortValue);
+			case "getInt": return number(args[0]).map(Number::intValue);
+			case "getLong": return number(args[0]).map(Number::longValue);
+			case "getFloat": return number(args[0]).map(Number::floatValue);
+			case "getDouble": return number(args[0]).map(Number::doubleValue);
+			case "copy": return create(copyMap(values));
+			case "isEmpty": return values.isEmpty();
+			case "currentPath": return DataQuery.of(path.toArray(new String[0]));
+			case "name": return path.isEmpty() ? "" : path.get(path.size() - 1);
+			case "container": return root == null ? proxy : root;
+			case "equals": return args[0] != null && Proxy.isProxyClass(args[0].getClass()) && Proxy.getInvocationHandler(args[0]) instanceof StubDataContainer other && values.equals(other.values);
+			case "hashCode": return values.hashCode();
+			case "toString": return "StubDataContainer" + values;
+			default: throw new UnsupportedOperationException("DataView." + method.getName() + " is not stubbed.");
+		}
+	}
+
+	private Optional<Number> number(Object query) {
+		Object value = find(parts(query));
+		if(value instanceof Number number) return Optional.of(number);
+		if(value instanceof String string) try {
+			return Optional.of(Double.parseDouble(string));
+		} catch (NumberFormatException e) {
+			return Optional.empty();
+		}
+		return Optional.empty();
+	}
+
+	private Object find(List<String> parts) {
+		Object current = values;
+		for(String part : parts) {
+			if(!(current instanceof Map<?, ?> map)) return null;
+			current = map.get(part);
+		}
+		return current;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void put(List<String> parts, Object value) {
+		Map<String, Object> current = values;
+		for(int i = 0; i < parts.size() - 1; i++) {
+			Object child = current.get(parts.get(i));
+			if(!(child instanceof Map)) current.put(parts.get(i), child = new LinkedHashMap<String, Object>());
+			current = (Map<String, Object>) child;
+		}
+		if(value == null) {
+			current.remove(parts.get(parts.size() - 1));
+		} else current.put(parts.get(parts.size() - 1), value);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object wrap(Object proxy, Object value, List<String> relative) {
+		if(value instanceof Map) {
+			List<String> full = new ArrayList<String>(path);
+			full.addAll(relative);
+			return view((Map<String, Object>) value, full, root == null ? (DataContainer) proxy : root);
+		}
+		if(value instanceof List<?> list) {
+			List<Object> result = new ArrayList<Object>(list.size());
+			for(Object element : list) result.add(element instanceof Map ? view((Map<String, Object>) element, List.of(), null) : element);
+			return result;
+		}
+		return value;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void collect(Map<String, Object> map, List<String> prefix, boolean deep, BiConsumer<DataQuery, Object> consumer) {
+		for(Map.Entry<String, Object> entry : map.entrySet()) {
+			prefix.add(entry.getKey());
+			consumer.accept(DataQuery.of(prefix.toArray(new String[0])), entry.getValue());
+			if(deep && entry.getValue() instanceof Map) collect((Map<String, Object>) entry.getValue(), prefix, true, consumer);
+			prefix.remove(prefix.size() - 1);
+		}
+	}
+
+	private static DataContainer view(Map<String, Object> values, List<String> path, DataContainer root) {
+		return proxy(DataContainer.class, new StubDataContainer(values, path, root));
+	}
+
+	private static StubDataContainer handler(DataView view) {
+		if(!Proxy.isProxyClass(view.getClass()) || !(Proxy.getInvocationHandler(view) instanceof StubDataContainer handler)) throw new IllegalArgumentException("Not a stub container: " + view);
+		return handler;
+	}
+
+	private static List<String> parts(Object query) {
+		return ((DataQuery) query).parts();
+	}
+
+	private static Object unwrap(Object value) {
+		if(value instanceof DataView view) return toMap(view);
+		if(value instanceof Map<?, ?> map) {
+			Map<String, Object> result = new LinkedHashMap<String, Object>();
+			map.forEach((key, child) -> {
+				if(child != null) result.put(key.toString(), unwrap(child));
+			});
+			return result;
+		}
+		if(value instanceof Collection<?> collection) {
+			List<Object> result = new ArrayList<Object>(collection.size());
+			for(Object child : collection) result.add(unwrap(child));
+			return result;
+		}
+		return value;
+	}
+
+	private static Map<String, Object> copyMap(Map<?, ?> map) {
+		return fromMap(map);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Object> copyList(List<?> list) {
+		return (List<Object>) unwrap(list);
+	}
+
+	private static String readText(Object source) throws IOException {
+		if(source instanceof Reader reader) {
+			StringBuilder builder = new StringBuilder();
+			char[] buffer = new char[4096];
+			int read;
+			while((read = reader.read(buffer)) > 0) builder.append(buffer, 0, read);
+			return builder.toString();
+		}
+		return new String(((InputStream) source).readAllBytes(), StandardCharsets.UTF_8);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static DataContainer fromJson(String json) {
+		return create((Map<String, Object>) fromJsonElement(JsonParser.parseString(json).getAsJsonObject()));
+	}
+
+	private static String toJson(DataView view) {
+		return toJsonElement(handler(view).values).toString();
+	}
+
+	/**
+	 * Numbers are narrowed to int or long when they have no fraction, as the Sponge Json format does.
+	 */
+	private static Object fromJsonElement(JsonElement element) {
+		if(element.isJsonObject()) {
+			Map<String, Object> map = new LinkedHashMap<String, Object>();
+			element.getAsJsonObject().entrySet().forEach(entry -> map.put(entry.getKey(), fromJsonElement(entry.getValue())));
+			return map;
+		}
+		if(element.isJsonArray()) {
+			List<Object> list = new ArrayList<Object>();
+			element.getAsJsonArray().forEach(child -> list.add(fromJsonElement(child)));
+			return list;
+		}
+		if(element.isJsonNull()) return null;
+		JsonPrimitive primitive = element.getAsJsonPrimitive();
+		if(primitive.isBoolean()) return primitive.getAsBoolean();
+		if(primitive.isString()) return primitive.getAsString();
+		double number = primitive.getAsDouble();
+		if(number == Math.rint(number) && !Double.isInfinite(number)) return number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE ? (Object) (int) number : (Object) (long) number;
+		return number;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static JsonElement toJsonElement(Object value) {
+		if(value instanceof Map<?, ?> map) {
+			JsonObject object = new JsonObject();
+			((Map<String, Object>) map).forEach((key, child) -> object.add(key, toJsonElement(child)));
+			return object;
+		}
+		if(value instanceof List<?> list) {
+			JsonArray array = new JsonArray();
+			list.forEach(child -> array.add(toJsonElement(child)));
+			return array;
+		}
+		if(value instanceof Boolean bool) return new JsonPrimitive(bool);
+		if(value instanceof Number number) return new JsonPrimitive(number);
+		return value == null ? JsonNull.INSTANCE : new JsonPrimitive(value.toString());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void writeValue(DataOutputStream out, Object value) throws IOException {
+		if(value instanceof Map<?, ?> map) {
+			out.writeByte(TAG_MAP);
+			for(Map.Entry<String, Object> entry : ((Map<String, Object>) map).entrySet()) {
+				writeString(out, entry.getKey());
+				writeValue(out, entry.getValue());
+			}
+			out.writeByte(TAG_END);
+		} else if(value instanceof List<?> list) {
+			out.writeByte(TAG_LIST);
+			out.writeInt(list.size());
+			for(Object child : list) writeValue(out, child);
+		} else if(value instanceof Boolean bool) {
+			out.writeByte(TAG_BOOLEAN);
+			out.writeBoolean(bool);
+		} else if(value instanceof Byte number) {
+			out.writeByte(TAG_BYTE);
+			out.writeByte(number);
+		} else if(value instanceof Short number) {
+			out.writeByte(TAG_SHORT);
+			out.writeShort(number);
+		} else if(value instanceof Integer number) {
+			out.writeByte(TAG_INT);
+			out.writeInt(number);
+		} else if(value instanceof Long number) {
+			out.writeByte(TAG_LONG);
+			out.writeLong(number);
+		} else if(value instanceof Float number) {
+			out.writeByte(TAG_FLOAT);
+			out.writeFloat(number);
+		} else if(value instanceof Number number) {
+			out.writeByte(TAG_DOUBLE);
+			out.writeDouble(number.doubleValue());
+		} else {
+			out.writeByte(TAG_STRING);
+			writeString(out, String.valueOf(value));
+		}
+	}
+
+	private static Object readValue(DataInputStream in, byte tag) throws IOException {
+		switch(tag) {
+			case TAG_MAP: return readMap(in);
+			case TAG_LIST: {
+				int size = in.readInt();
+				List<Object> list = new ArrayList<Object>(size);
+				for(int i = 0; i < size; i++) list.add(readValue(in, in.readByte()));
+				return list;
+			}
+			case TAG_BOOLEAN: return in.readBoolean();
+			case TAG_BYTE: return in.readByte();
+			case TAG_SHORT: return in.readShort();
+			case TAG_INT: return in.readInt();
+			case TAG_LONG: return in.readLong();
+			case TAG_FLOAT: return in.readFloat();
+			case TAG_DOUBLE: return in.readDouble();
+			case TAG_STRING: return readString(in);
+			default: throw new IOException("Unknown tag " + tag);
+		}
+	}
+
+	private static Map<String, Object> readMap(DataInputStream in) throws IOException {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		byte tag;
+		while((tag = in.readByte()) != TAG_END) {
+			// Each entry starts with the string tag of its key.
+			String key = readString(in, tag);
+			map.put(key, readValue(in, in.readByte()));
+		}
+		return map;
+	}
+
+	/**
+	 * Strings are written as a length prefix and UTF-8 bytes, so book pages longer than 64 KiB are also supported.
+	 */
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		out.writeByte(TAG_STRING);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		return readString(in, in.readByte());
+	}
+
+	private static String readString(DataInputStream in, byte tag) throws IOException {
+		if(tag != TAG_STRING) throw new IOException("Expected a string, found tag " + tag);
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static Object objectMethod(Object proxy, Method method, Object[] args, String name) {
+		switch(method.getName()) {
+			case "hashCode": return System.identityHashCode(proxy);
+			case "equals": return proxy == args[0];
+			case "toString": return name;
+			default: throw new UnsupportedOperationException(name + "." + method.getName() + " is not stubbed.");
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return (T) Proxy.newProxyInstance(StubDataContainer.class.getClassLoader(), new Class<?>[] {type}, handler);
+	}
+
+}
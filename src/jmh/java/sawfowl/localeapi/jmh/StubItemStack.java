@@ -0,0 +1,154 @@
+package sawfowl.localeapi.jmh;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.spongepowered.api.ResourceKey;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.data.persistence.DataContainer;
+import org.spongepowered.api.data.persistence.DataQuery;
+import org.spongepowered.api.data.persistence.DataView;
+import org.spongepowered.api.item.ItemType;
+import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.api.registry.RegistryTypes;
+
+/**
+ * {@link ItemStack} and {@link ItemStack.Builder} replacing the Sponge implementation in benchmarks.<br>
+ * The item holds its type, quantity and components. The components are kept as nested maps and exposed through {@link StubDataContainer}.
+ */
+final class StubItemStack implements InvocationHandler {
+
+	private static final DataQuery CONTENT_VERSION = DataQuery.of("ContentVersion");
+	private static final DataQuery ITEM_TYPE = DataQuery.of("ItemType");
+	private static final DataQuery COUNT = DataQuery.of("Count");
+	private static final DataQuery COMPONENTS = DataQuery.of("components");
+
+	private final ItemType type;
+	private int quantity;
+	private final Map<String, Object> components;
+
+	private StubItemStack(ItemType type, int quantity, Map<String, Object> components) {
+		this.type = type;
+		this.quantity = quantity;
+		this.components = components;
+	}
+
+	static ItemStack create(ItemType type, int quantity, Map<String, Object> components) {
+		return (ItemStack) Proxy.newProxyInstance(StubItemStack.class.getClassLoader(), new Class<?>[] {ItemStack.class}, new StubItemStack(type, quantity, components));
+	}
+
+	static ItemStack empty() {
+		return create(itemType("minecraft:air"), 0, new LinkedHashMap<String, Object>());
+	}
+
+	static ItemStack.Builder builder() {
+		return (ItemStack.Builder) Proxy.newProxyInstance(StubItemStack.class.getClassLoader(), new Class<?>[] {ItemStack.Builder.class}, new Builder());
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		switch(method.getName()) {
+			case "type": return type;
+			case "quantity": return quantity;
+			case "setQuantity": {
+				quantity = (int) args[0];
+				return null;
+			}
+			case "isEmpty": return quantity <= 0 || isAir(type);
+			case "copy": return create(type, quantity, StubDataContainer.fromMap(components));
+			case "contentVersion": return 1;
+			case "toContainer": {
+				DataContainer container = StubDataContainer.create();
+				container.set(CONTENT_VERSION, 1);
+				container.set(ITEM_TYPE, Sponge.game().registry(RegistryTypes.ITEM_TYPE).valueKey(type).asString());
+				container.set(COUNT, quantity);
+				if(!components.isEmpty()) container.set(COMPONENTS, components);
+				return container;
+			}
+			case "equals": return args[0] != null && Proxy.isProxyClass(args[0].getClass()) && Proxy.getInvocationHandler(args[0]) instanceof StubItemStack other && type == other.type && quantity == other.quantity && components.equals(other.components);
+			case "hashCode": return Objects.hash(type, quantity, components);
+			case "toString": return "StubItemStack[" + type + " x" + quantity + ", " + components + "]";
+			default:
+				if(method.isDefault()) return InvocationHandler.invokeDefault(proxy, method, args);
+				throw new UnsupportedOperationException("ItemStack." + method.getName() + " is not stubbed.");
+		}
+	}
+
+	private static ItemType itemType(String id) {
+		return Sponge.game().registry(RegistryTypes.ITEM_TYPE).value(ResourceKey.resolve(id));
+	}
+
+	private static boolean isAir(ItemType type) {
+		return Sponge.game().registry(RegistryTypes.ITEM_TYPE).valueKey(type).asString().equals("minecraft:air");
+	}
+
+	private static class Builder implements InvocationHandler {
+
+		private ItemType type;
+		private int quantity = 1;
+		private Map<String, Object> components = new LinkedHashMap<String, Object>();
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch(method.getName()) {
+				case "itemType": {
+					type = args[0] instanceof Supplier<?> supplier ? (ItemType) supplier.get() : (ItemType) args[0];
+					return proxy;
+				}
+				case "quantity": {
+					quantity = (int) args[0];
+					return proxy;
+				}
+				case "fromContainer": {
+					fromContainer((DataView) args[0]);
+					return proxy;
+				}
+				case "fromItemStack", "from": {
+					StubItemStack stack = (StubItemStack) Proxy.getInvocationHandler(args[0]);
+					type = stack.type;
+					quantity = stack.quantity;
+					components = StubDataContainer.fromMap(stack.components);
+					return proxy;
+				}
+				case "reset": {
+					type = null;
+					quantity = 1;
+					components = new LinkedHashMap<String, Object>();
+					return proxy;
+				}
+				case "build": {
+					if(args != null && args.length == 1) {
+						fromContainer((DataView) args[0]);
+						return Optional.of(build());
+					}
+					return build();
+				}
+				case "hashCode": return System.identityHashCode(proxy);
+				case "equals": return proxy == args[0];
+				case "toString": return "StubItemStack.Builder";
+				default:
+					if(method.isDefault()) return InvocationHandler.invokeDefault(proxy, method, args);
+					throw new UnsupportedOperationException("ItemStack.Builder." + method.getName() + " is not stubbed.");
+			}
+		}
+
+		private void fromContainer(DataView container) {
+			type = itemType(container.getString(ITEM_TYPE).orElse("minecraft:air"));
+			quantity = container.getInt(COUNT).orElse(1);
+			components = container.getView(COMPONENTS).map(StubDataContainer::toMap).orElseGet(LinkedHashMap::new);
+		}
+
+		private ItemStack build() {
+			if(type == null) throw new IllegalStateException("Item type is not set.");
+			return create(type, quantity, StubDataContainer.fromMap(components));
+		}
+
+	}
+
+}
@@ -0,0 +1,125 @@
+package sawfowl.localeapi.jmh;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+
+import sawfowl.localeapi.api.Text;
+import sawfowl.localeapi.api.TextUtils;
+import sawfowl.localeapi.api.placeholders.Placeholders;
+
+/**
+ * Text formatting paths used on every chat message: key replacement, placeholders, deserialization and clearing decorations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TextBenchmark {
+
+	private Component placeholderTemplate;
+	private BenchmarkPlayer player;
+	private String legacy;
+	private String json;
+	private Component decorated;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		SpongeStubs.install();
+		Placeholders.register(BenchmarkPlayer.class, "BenchmarkName", (original, arg, def) -> original.replace("%name%", arg.name()));
+		Placeholders.register(BenchmarkPlayer.class, "BenchmarkUUID", (original, arg, def) -> original.replace("%uuid%", arg.uniqueId()));
+		Placeholders.register(BenchmarkPlayer.class, "BenchmarkLevel", (original, arg, def) -> original.replace("%level%", arg.level()));
+		Placeholders.register(BenchmarkPlayer.class, "BenchmarkBalance", (original, arg, def) -> original.replace("%balance%", arg.balance()));
+		placeholderTemplate = TextUtils.deserializeLegacy("&6[%level%] &f%name% &7(%uuid%) &ehas &a%balance% &ecoins");
+		player = new BenchmarkPlayerImpl("Player", UUID.nameUUIDFromBytes("Player".getBytes()), 30, 1250.5);
+		legacy = "&6[&eShop&6] &aYou bought &f%amount% &ax &b%item% &afor &e%price% &acoins. &7&oThank you!";
+		json = TextUtils.serializeJson(TextUtils.deserializeLegacy(legacy));
+		decorated = TextUtils.deserializeLegacy(legacy).decorate(TextDecoration.BOLD).append(Component.text(" suffix", NamedTextColor.RED, TextDecoration.UNDERLINED));
+	}
+
+	@Benchmark
+	public Component replace(ReplaceState state) {
+		return Text.of(state.template).replace(state.keys, state.values).get();
+	}
+
+	@Benchmark
+	public Component applyPlaceholders() {
+		return Placeholders.apply(Text.of(placeholderTemplate), player, Component.empty()).get();
+	}
+
+	@Benchmark
+	public Component deserializeLegacy() {
+		return TextUtils.deserialize(legacy);
+	}
+
+	@Benchmark
+	public Component deserializeJson() {
+		return TextUtils.deserialize(json);
+	}
+
+	@Benchmark
+	public String clearDecorationsComponent() {
+		return TextUtils.clearDecorations(decorated);
+	}
+
+	@Benchmark
+	public String clearDecorationsString() {
+		return TextUtils.clearDecorations(legacy);
+	}
+
+	@State(Scope.Benchmark)
+	public static class ReplaceState {
+
+		@Param({"1", "5", "20"})
+		public int replaceKeys;
+
+		private Component template;
+		private String[] keys;
+		private String[] values;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			SpongeStubs.install();
+			keys = new String[replaceKeys];
+			values = new String[replaceKeys];
+			Component component = Component.text("Message header ", NamedTextColor.GOLD);
+			for(int i = 0; i < replaceKeys; i++) {
+				keys[i] = "%key" + i + "%";
+				values[i] = "&aValue " + i;
+				component = component.append(Component.text("field " + i + ": ", NamedTextColor.GRAY)).append(Component.text(keys[i], NamedTextColor.WHITE));
+			}
+			template = component;
+		}
+
+	}
+
+	/**
+	 * Placeholders are registered for the interface, as the default placeholders are registered for Sponge interfaces.
+	 */
+	public interface BenchmarkPlayer {
+
+		String name();
+
+		UUID uniqueId();
+
+		int level();
+
+		double balance();
+
+	}
+
+	record BenchmarkPlayerImpl(String name, UUID uniqueId, int level, double balance) implements BenchmarkPlayer {}
+
+}
@@ -5,11 +5,17 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import org.spongepowered.api.Server;
 import org.spongepowered.api.Sponge;
@@ -17,22 +23,45 @@ import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
 import org.spongepowered.api.event.lifecycle.StartedEngineEvent;
 import org.spongepowered.api.event.lifecycle.StoppedGameEvent;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.util.locale.LocaleSource;
 import org.spongepowered.api.util.locale.Locales;
 import org.spongepowered.plugin.PluginContainer;
 
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import net.kyori.adventure.translation.GlobalTranslator;
+
+import sawfowl.localeapi.api.ClickCallbacks;
 import sawfowl.localeapi.api.ConfigTypes;
 import sawfowl.localeapi.api.EnumLocales;
 import sawfowl.localeapi.api.LocaleReference;
 import sawfowl.localeapi.api.LocaleService;
+import sawfowl.localeapi.api.LocaleMetrics;
 import sawfowl.localeapi.api.Logger;
+import sawfowl.localeapi.api.MissingKey;
 import sawfowl.localeapi.api.PluginLocale;
+import sawfowl.localeapi.api.Text;
+import sawfowl.localeapi.api.placeholders.Placeholders;
 import sawfowl.localeapi.api.serializetools.SerializeOptions;
 import sawfowl.localeapi.apiclasses.AbstractLocale;
+import sawfowl.localeapi.apiclasses.ClickCallbackRegistry;
+import sawfowl.localeapi.apiclasses.CompactLocaleStorage;
+import sawfowl.localeapi.apiclasses.CompactStringPool;
+import sawfowl.localeapi.apiclasses.ComponentCompactor;
 import sawfowl.localeapi.apiclasses.HoconLocale;
 import sawfowl.localeapi.apiclasses.JsonLocale;
 import sawfowl.localeapi.apiclasses.LegacyLocale;
+import sawfowl.localeapi.apiclasses.LocaleMetricsRegistry;
+import sawfowl.localeapi.apiclasses.LocaleTranslator;
+import sawfowl.localeapi.apiclasses.MissingKeyRegistry;
 import sawfowl.localeapi.apiclasses.YamlLocale;
 import sawfowl.localeapi.utils.WatchThread;
+import sawfowl.localeapi.utils.WriteBehindSaver;
 
 public class ImplementAPI {
 
@@ -51,8 +80,12 @@ public class ImplementAPI {
 		private Map<String, Map<Locale, PluginLocale>> pluginLocales;
 		private Map<String, Integer> stackSerializers;
 		private Map<String, Class<? extends LocaleReference>> defaultReferences;
+		private Set<String> compactStorages;
+		private Map<String, Map<Locale, Locale>> fallbackLocales;
+		private Map<String, Map<Locale, PluginLocale>> resolvedLocales;
 		private List<Locale> locales;
 		private WatchThread watchThread;
+		private volatile LocaleTranslator translator;
 		private final Path configDirectory;
 		private final Logger logger;
 		private Locale system = Locale.getDefault();
@@ -65,6 +98,9 @@ public class ImplementAPI {
 			pluginLocales = new HashMap<String, Map<Locale, PluginLocale>>();
 			stackSerializers = new HashMap<String, Integer>();
 			defaultReferences = new HashMap<String, Class<? extends LocaleReference>>();
+			compactStorages = new HashSet<String>();
+			fallbackLocales = new HashMap<String, Map<Locale, Locale>>();
+			resolvedLocales = new ConcurrentHashMap<String, Map<Locale, PluginLocale>>();
 			locales = EnumLocales.getLocales();
 			watchThread = new WatchThread(this, logger, path);
 			allowSystem = locales.contains(system) || locales.stream().filter(locale -> (locale.toLanguageTag().equals(system.toLanguageTag()))).findFirst().isPresent();
@@ -111,7 +147,30 @@ public class ImplementAPI {
 		}
 
 		private void addPluginLocale(String pluginID, Locale locale, AbstractLocale localeUtil) {
-			if(!pluginLocales.get(pluginID).containsKey(locale)) pluginLocales.get(pluginID).put(locale, localeUtil);
+			if(!pluginLocales.get(pluginID).containsKey(locale)) {
+				pluginLocales.get(pluginID).put(locale, localeUtil);
+				invalidateFallbacks(pluginID);
+			}
+		}
+
+		private void invalidateFallbacks(String pluginID) {
+			resolvedLocales.remove(pluginID);
+			getPluginLocales(pluginID).values().forEach(locale -> {
+				if(locale instanceof AbstractLocale abstractLocale) abstractLocale.invalidateFallbackChain();
+			});
+		}
+
+		private PluginLocale resolveLocale(String pluginID, Locale locale) {
+			Map<Locale, PluginLocale> locales = getPluginLocales(pluginID);
+			if(locales.containsKey(locale)) return locales.get(locale);
+			Optional<PluginLocale> sameLanguage = locales.entrySet().stream()
+				.filter(entry -> entry.getKey().getLanguage().equals(locale.getLanguage()))
+				.sorted(Comparator.comparing(entry -> entry.getKey().toLanguageTag()))
+				.map(Map.Entry::getValue)
+				.findFirst();
+			if(sameLanguage.isPresent()) return sameLanguage.get();
+			Locale fallback = getFallbackLocale(pluginID, locale);
+			return fallback != null && locales.containsKey(fallback) ? locales.get(fallback) : locales.get(Locales.DEFAULT);
 		}
 
 		public Locale getSystemOrDefaultLocale() {
@@ -147,7 +206,14 @@ public class ImplementAPI {
 				logger.error("Plugin can not be null or noname(\"\")");
 				return null;
 			}
-			return getPluginLocales(pluginID).containsKey(locale) ? getPluginLocales(pluginID).get(locale) : getPluginLocales(pluginID).get(Locales.DEFAULT);
+			if(locale == null) return getPluginLocales(pluginID).get(Locales.DEFAULT);
+			Map<Locale, PluginLocale> resolved = resolvedLocales.computeIfAbsent(pluginID, id -> new ConcurrentHashMap<Locale, PluginLocale>());
+			PluginLocale pluginLocale = resolved.get(locale);
+			if(pluginLocale == null) {
+				pluginLocale = resolveLocale(pluginID, locale);
+				if(pluginLocale != null) resolved.put(locale, pluginLocale);
+			}
+			return pluginLocale;
 		}
 
 		public void saveAssetLocales(PluginContainer plugin) {
@@ -203,14 +269,12 @@ public class ImplementAPI {
 				return false;
 			}
 			for(Locale locale : locales) {
-				if(configDirectory.resolve(pluginID + File.separator + locale.toLanguageTag() + ".conf").toFile().exists() && SerializeOptions.createHoconConfigurationLoader(getItemStackSerializerVariant(pluginID)).path(configDirectory.resolve(pluginID + File.separator + locale.toLanguageTag() + ".conf")).build().canLoad()) {
+				if(configDirectory.resolve(pluginID + File.separator + locale.toLanguageTag() + ".conf").toFile().exists() && SerializeOptions.getHoconConfigurationLoader(pluginID, getItemStackSerializerVariant(pluginID), configDirectory.resolve(pluginID + File.separator + locale.toLanguageTag() + ".conf")).canLoad()) {
 					createPluginLocale(pluginID, ConfigTypes.HOCON, locale);
 				} else if(configDirectory.resolve(pluginID + File.separator + locale.toLanguageTag() + ".json").toFile().exists() && 
-						SerializeOptions.createJsonConfigurationLoader(
-								getItemStackSerializerVariant(pluginID))
-						.path(configDirectory.resolve(pluginID + File.separator + locale.toLanguageTag() + ".json")).build().canLoad()) {
+						SerializeOptions.getJsonConfigurationLoader(pluginID, getItemStackSerializerVariant(pluginID), configDirectory.resolve(pluginID + File.separator + locale.toLanguageTag() + ".json")).canLoad()) {
 					createPluginLocale(pluginID, ConfigTypes.JSON, locale);
-				} else if(configDirectory.resolve(pluginID + File.separator + locale.toLanguageTag() + ".yml").toFile().exists() && SerializeOptions.createYamlConfigurationLoader(getItemStackSerializerVariant(pluginID)).path(configDirectory.resolve(pluginID + File.separator + locale.toLanguageTag() + ".yml")).build().canLoad()) {
+				} else if(configDirectory.resolve(pluginID + File.separator + locale.toLanguageTag() + ".yml").toFile().exists() && SerializeOptions.getYamlConfigurationLoader(pluginID, getItemStackSerializerVariant(pluginID), configDirectory.resolve(pluginID + File.separator + locale.toLanguageTag() + ".yml")).canLoad()) {
 					createPluginLocale(pluginID, ConfigTypes.YAML, locale);
 				} else if(configDirectory.resolve(pluginID + File.separator + locale.toLanguageTag() + ".properties").toFile().exists()) {
 					createPluginLocale(pluginID, ConfigTypes.PROPERTIES, locale);
@@ -222,19 +286,25 @@ public class ImplementAPI {
 		@Listener(order = Order.LAST)
 		public void onCompleteLoad(StartedEngineEvent<Server> event) {
 			watchThread.start();
+			Sponge.asyncScheduler().submit(Task.builder().plugin(LocaleAPI.getPluginContainer()).delay(1, TimeUnit.MINUTES).interval(1, TimeUnit.MINUTES).execute(this::saveMetrics).build());
+			Sponge.asyncScheduler().submit(Task.builder().plugin(LocaleAPI.getPluginContainer()).delay(1, TimeUnit.MINUTES).interval(1, TimeUnit.MINUTES).execute(ClickCallbackRegistry.get()::expire).build());
 		}
 
 		@Listener
 		public void stopWatch(StoppedGameEvent event) {
 			if(event == null) return;
 			watchThread.stopWatch();
+			WriteBehindSaver.get().flushAll();
+			if(!MissingKeyRegistry.get().getMissingKeys().isEmpty()) saveMissingKeys();
+			saveMetrics();
 		}
 
 		@Override
 		public void setItemStackSerializerVariant(PluginContainer container, int variant) throws Exception {
-			if(variant < 1 || variant > 3) throw new IllegalStateException("The value must not be less than 1 or greater than 3.");
+			if(variant < 1 || variant > 4) throw new IllegalStateException("The value must not be less than 1 or greater than 4.");
 			if(stackSerializers.containsKey(container.metadata().id())) stackSerializers.remove(container.metadata().id());
 			stackSerializers.put(container.metadata().id(), variant);
+			SerializeOptions.clearConfigLoaders(container.metadata().id());
 		}
 
 		@Override
@@ -250,6 +320,9 @@ public class ImplementAPI {
 		public <T extends LocaleReference> void setDefaultReference(PluginContainer container, Class<T> defaultReference) {
 			if(defaultReferences.containsKey(container.metadata().id())) defaultReferences.remove(container.metadata().id());
 			defaultReferences.put(container.metadata().id(), defaultReference);
+			getPluginLocales(container.metadata().id()).values().forEach(locale -> {
+				if(locale instanceof AbstractLocale abstractLocale) abstractLocale.setDefaultReference();
+			});
 		}
 
 		@Override
@@ -262,6 +335,182 @@ public class ImplementAPI {
 			return defaultReferences.containsKey(pluginID) ? defaultReferences.get(pluginID) : null;
 		}
 
+		@Override
+		public void setCompactStorage(PluginContainer container, boolean compact) {
+			String pluginID = getPluginID(container);
+			if(compact ? !compactStorages.add(pluginID) : !compactStorages.remove(pluginID)) return;
+			getPluginLocales(pluginID).values().forEach(locale -> {
+				if(locale instanceof AbstractLocale abstractLocale) {
+					if(compact) {
+						locale.saveLocaleNode();
+						abstractLocale.updateCompactStorage();
+					} else if(abstractLocale.getCompactStorage() != null) abstractLocale.getLocaleRootNode();
+				}
+			});
+		}
+
+		@Override
+		public List<MissingKey> getMissingKeys() {
+			return MissingKeyRegistry.get().getMissingKeys();
+		}
+
+		@Override
+		public Path saveMissingKeys() {
+			Path file = configDirectory.resolve("missing-keys.txt");
+			try {
+				MissingKeyRegistry.get().dump(file);
+				return file;
+			} catch (IOException e) {
+				logger.error("Failed to save the list of missing localization paths: " + e.getLocalizedMessage());
+				return null;
+			}
+		}
+
+		@Override
+		public ClickCallbacks callbacks() {
+			return ClickCallbackRegistry.get();
+		}
+
+		@Override
+		public LocaleMetrics metrics() {
+			return LocaleMetricsRegistry.get();
+		}
+
+		@Override
+		public void broadcast(Audience audience, PluginContainer plugin, Object[] path, Object... args) {
+			broadcast(audience, getPluginID(plugin), path, args);
+		}
+
+		@Override
+		public void broadcast(Audience audience, String pluginID, Object[] path, Object... args) {
+			if(pluginID == null || pluginID.isEmpty()) {
+				logger.error("Plugin can not be null or noname(\"\")");
+				return;
+			}
+			Map<Locale, List<Audience>> recipients = new HashMap<Locale, List<Audience>>();
+			audience.forEachAudience(recipient -> recipients.computeIfAbsent(getLocale(recipient), locale -> new ArrayList<Audience>()).add(recipient));
+			recipients.forEach((locale, audiences) -> {
+				PluginLocale pluginLocale = getOrDefaultLocale(pluginID, locale);
+				if(pluginLocale == null) return;
+				Component message = Placeholders.apply(pluginLocale.getText(path), Component.empty(), args).get();
+				boolean perRecipient = PlainTextComponentSerializer.plainText().serialize(message).indexOf('%') != -1;
+				for(Audience recipient : audiences) recipient.sendMessage(perRecipient ? Placeholders.applyFor(Text.of(message), recipient, Component.empty()).get() : message);
+			});
+		}
+
+		@Override
+		public void registerTranslations(PluginContainer plugin) {
+			registerTranslations(getPluginID(plugin));
+		}
+
+		@Override
+		public synchronized void registerTranslations(String pluginID) {
+			if(pluginID == null || pluginID.isEmpty()) {
+				logger.error("Plugin can not be null or noname(\"\")");
+				return;
+			}
+			if(translator == null) {
+				translator = new LocaleTranslator(this);
+				GlobalTranslator.translator().addSource(translator);
+			}
+			translator.register(pluginID);
+		}
+
+		@Override
+		public TranslatableComponent translatable(PluginContainer plugin, Object[] path, ComponentLike... args) {
+			return translatable(getPluginID(plugin), path, args);
+		}
+
+		@Override
+		public TranslatableComponent translatable(String pluginID, Object[] path, ComponentLike... args) {
+			if(translator == null || !translator.isRegistered(pluginID)) logger.warn("Translations of the plugin \"" + pluginID + "\" are not registered. Use LocaleService#registerTranslations.");
+			return Component.translatable(translator == null ? LocaleTranslator.key(pluginID, path) : translator.createKey(pluginID, path), args);
+		}
+
+		private Locale getLocale(Audience audience) {
+			if(audience instanceof LocaleSource source) return source.locale();
+			return audience.get(Identity.LOCALE).orElse(getDefaultLocale());
+		}
+
+		private void saveMetrics() {
+			try {
+				LocaleMetricsRegistry.get().save(configDirectory.resolve("metrics.json"));
+			} catch (IOException e) {
+				logger.error("Failed to save the metrics: " + e.getLocalizedMessage());
+			}
+		}
+
+		@Override
+		public void setFallbackLocale(PluginContainer container, Locale locale, Locale fallback) {
+			String pluginID = getPluginID(container);
+			if(!fallbackLocales.containsKey(pluginID)) fallbackLocales.put(pluginID, new HashMap<Locale, Locale>());
+			if(fallback == null || fallback.equals(locale)) {
+				fallbackLocales.get(pluginID).remove(locale);
+			} else fallbackLocales.get(pluginID).put(locale, fallback);
+			invalidateFallbacks(pluginID);
+		}
+
+		@Override
+		public Locale getFallbackLocale(String pluginID, Locale locale) {
+			return fallbackLocales.containsKey(pluginID) ? fallbackLocales.get(pluginID).get(locale) : null;
+		}
+
+		@Override
+		public boolean isCompactStorage(String pluginID) {
+			return compactStorages.contains(pluginID);
+		}
+
+		@Override
+		public void setComponentCompaction(boolean enable) {
+			ComponentCompactor.setEnabled(enable);
+		}
+
+		@Override
+		public boolean isComponentCompaction() {
+			return ComponentCompactor.isEnabled();
+		}
+
+		@Override
+		public String getComponentCompactionReport() {
+			return ComponentCompactor.getReport();
+		}
+
+		@Override
+		public String getCompactStorageReport() {
+			StringBuilder plugins = new StringBuilder();
+			long totalNodes = 0;
+			long totalCompact = 0;
+			long totalStrings = 0;
+			int totalLocales = 0;
+			for(Map.Entry<String, Map<Locale, PluginLocale>> entry : pluginLocales.entrySet()) {
+				long nodes = 0;
+				long compact = 0;
+				int keys = 0;
+				int count = 0;
+				for(PluginLocale locale : entry.getValue().values()) {
+					if(!(locale instanceof AbstractLocale abstractLocale) || abstractLocale.getCompactStorage() == null) continue;
+					CompactLocaleStorage storage = abstractLocale.getCompactStorage();
+					nodes += storage.estimatedNodeBytes();
+					compact += storage.estimatedBytes();
+					keys += storage.size();
+					count++;
+				}
+				if(count == 0) continue;
+				CompactStringPool pool = CompactStringPool.forPlugin(entry.getKey());
+				compact += pool.estimatedBytes();
+				totalStrings += pool.size();
+				plugins.append("\n  ").append(entry.getKey()).append(": ").append(count).append(" locales, ").append(keys).append(" keys, nodes ~").append(nodes / 1024).append(" KB, compact ~").append(compact / 1024).append(" KB");
+				totalNodes += nodes;
+				totalCompact += compact;
+				totalLocales += count;
+			}
+			return "Compact locale storage: " + totalLocales + " locales" +
+					"\n  Before (configuration nodes): ~" + (totalNodes / 1024) + " KB" +
+					"\n  After (compact storage): ~" + (totalCompact / 1024) + " KB, including " + totalStrings + " pooled strings" +
+					"\n  Saved: " + (totalNodes == 0 ? 0 : (totalNodes - totalCompact) * 100 / totalNodes) + "%" +
+					plugins;
+		}
+
 		void startWatch() {
 			watchThread.getWatchLocales().unfreeze();
 		}
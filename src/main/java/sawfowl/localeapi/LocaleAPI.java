@@ -173,10 +173,10 @@ public class LocaleAPI {
 					if(plain.contains("%currency:")) {
 						String currencyKey = getCurrencyKey(plain);
 						Currency currency = getCurrency(currencyKey);
-						original.replace("%currency:" + currencyKey + "%", getCurrencySymbol(currency)).replace(DefaultPlaceholderKeys.PLAYER_BALANCE, getBalance(player, getDefaultCurrency()));
+						original = original.replace("%currency:" + currencyKey + "%", getCurrencySymbol(currency)).replace(DefaultPlaceholderKeys.PLAYER_BALANCE, getBalance(player, getDefaultCurrency()));
 						currencyKey = null;
 						currency = null;
-					} else original.replace(DefaultPlaceholderKeys.PLAYER_BALANCE, getBalance(player, getDefaultCurrency()));
+					} else original = original.replace(DefaultPlaceholderKeys.PLAYER_BALANCE, getBalance(player, getDefaultCurrency()));
 					plain = null;
 				}
 				return original;
@@ -191,8 +191,8 @@ public class LocaleAPI {
 				Optional<Statistic> stat = getStatistic(player, statisticKey);
 				statisticKey = "%statistic:" + statisticKey + "%";
 				if(stat.isPresent()) {
-					original.replace(statisticKey, String.valueOf(player.get(Keys.STATISTICS).get().get(stat.get())));
-				} else original.replace(statisticKey, def == null ? 0 : def);
+					original = original.replace(statisticKey, String.valueOf(player.get(Keys.STATISTICS).get().get(stat.get())));
+				} else original = original.replace(statisticKey, def == null ? 0 : def);
 				plain = null;
 				statisticKey = null;
 				stat = null;
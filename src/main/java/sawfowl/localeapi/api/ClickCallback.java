@@ -0,0 +1,54 @@
+package sawfowl.localeapi.api;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import net.kyori.adventure.text.event.ClickEvent;
+
+/**
+ * Click action registered once and shared by all recipients of the message.<br>
+ * Created via {@link ClickCallbacks#create(String, java.util.function.BiConsumer, java.time.Duration, boolean)}.
+ * 
+ * @param <T> - Type of the value bound to the players.
+ */
+public interface ClickCallback<T> {
+
+	/**
+	 * Identifier of the logical message the callback belongs to.
+	 */
+	String id();
+
+	/**
+	 * Click event running this callback. The same object is returned for all recipients.
+	 */
+	ClickEvent clickEvent();
+
+	/**
+	 * Binding the value passed to the action when the player clicks the text.<br>
+	 * Recipients without a bound value receive null.
+	 */
+	ClickCallback<T> bind(UUID player, T value);
+
+	/**
+	 * Removing the value bound to the player.
+	 */
+	ClickCallback<T> unbind(UUID player);
+
+	/**
+	 * @return null if the callback never expires.
+	 */
+	Instant expiresAt();
+
+	boolean isExpired();
+
+	/**
+	 * Whether each recipient can run the callback only once.
+	 */
+	boolean isSingleUse();
+
+	/**
+	 * Removing the callback. Clicks on the already sent messages are ignored after that.
+	 */
+	void remove();
+
+}
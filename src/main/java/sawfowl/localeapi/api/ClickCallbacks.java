@@ -0,0 +1,55 @@
+package sawfowl.localeapi.api;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.spongepowered.api.command.CommandCause;
+
+/**
+ * Registry of the click actions shared by all recipients of a message.<br>
+ * Unlike {@link TextUtils#createCallBack(net.kyori.adventure.text.Component, Consumer)}, the Sponge callback is registered once per identifier,
+ * not once per recipient, and is removed after the time to live.
+ */
+public interface ClickCallbacks {
+
+	/**
+	 * Creating the callback or getting the live callback with the same identifier.<br>
+	 * The live callback is returned only if its action has the same class and the same single use flag, its time to live is not changed.
+	 * A lambda has one class for each place in the code where it is written, so calling this method again from the same place returns the live callback
+	 * with its first action, even if the new lambda captures other values.
+	 * 
+	 * @param id - Identifier of the logical message. For example, <b>"myplugin:vote:" + voteID</b>.
+	 * @param action - Action receiving the clicker and the value bound to the clicker, or null.
+	 * @param ttl - Time to live. Null - the callback lives until it is removed.
+	 * @param singleUse - Whether each recipient can run the callback only once.
+	 * @throws IllegalStateException if a live callback with this identifier has an action of another class or a different single use flag.
+	 */
+	<T> ClickCallback<T> create(String id, BiConsumer<CommandCause, T> action, Duration ttl, boolean singleUse);
+
+	/**
+	 * Creating the callback without the values bound to the players.<br>
+	 * The class of this action is compared, not the class of a wrapper around it.<br>
+	 * See {@link #create(String, BiConsumer, Duration, boolean)}
+	 */
+	ClickCallback<Void> create(String id, Consumer<CommandCause> action, Duration ttl, boolean singleUse);
+
+	/**
+	 * Getting the live callback.
+	 */
+	<T> Optional<ClickCallback<T>> get(String id);
+
+	/**
+	 * Removing the callback.
+	 * 
+	 * @return false if there is no live callback with this identifier.
+	 */
+	boolean remove(String id);
+
+	/**
+	 * Number of callbacks that have not expired and have not been removed.
+	 */
+	int getLiveCount();
+
+}
@@ -0,0 +1,90 @@
+package sawfowl.localeapi.api;
+
+import java.util.Map;
+
+/**
+ * Counters of the localization service. All values are collected since the server start.<br>
+ * The same data is periodically written to the <b>'metrics.json'</b> file in the LocaleAPI config directory.
+ */
+public interface LocaleMetrics {
+
+	/**
+	 * Upper bounds of the reload latency histogram buckets in milliseconds. The last bucket has no upper bound.
+	 */
+	long[] RELOAD_BUCKETS_MS = {1, 5, 10, 50, 100, 500, 1000};
+
+	/**
+	 * Number of text lookups.<br>
+	 * Key - plugin ID, value - number of lookups per locale language tag.
+	 */
+	Map<String, Map<String, Long>> getLookups();
+
+	/**
+	 * Number of text lookups in the locale of the plugin.
+	 */
+	long getLookups(String pluginID, String locale);
+
+	/**
+	 * Number of lookups answered from the cache of resolved localization paths.
+	 */
+	long getCacheHits();
+
+	/**
+	 * Number of lookups that had to descend the locale tree.
+	 */
+	long getCacheMisses();
+
+	/**
+	 * Share of cache hits, from 0 to 1.
+	 */
+	default double getCacheHitRate() {
+		long total = getCacheHits() + getCacheMisses();
+		return total == 0 ? 0 : (double) getCacheHits() / total;
+	}
+
+	/**
+	 * Number of requests of missing localization paths.<br>
+	 * Key - plugin ID, value - number of requests per locale language tag.
+	 */
+	Map<String, Map<String, Long>> getMissingKeys();
+
+	/**
+	 * Number of locale loads and reloads.
+	 */
+	long getReloads();
+
+	/**
+	 * Number of reloads in each bucket of {@link #RELOAD_BUCKETS_MS}. The array is one element longer than the bucket bounds.
+	 */
+	long[] getReloadLatencyHistogram();
+
+	/**
+	 * Evaluation time of the placeholders.<br>
+	 * Key - placeholder ID.
+	 */
+	Map<String, PlaceholderTiming> getPlaceholderTimings();
+
+	/**
+	 * Number of changed localization files waiting to be reloaded by the file watcher.
+	 */
+	int getWatcherQueueDepth();
+
+	/**
+	 * All counters in Json format.
+	 */
+	String toJson();
+
+	/**
+	 * @param calls - Number of evaluations.
+	 * @param totalNanos - Total evaluation time.
+	 * @param maxNanos - Longest evaluation.
+	 */
+	record PlaceholderTiming(long calls, long totalNanos, long maxNanos) {
+
+		public double averageNanos() {
+			return calls == 0 ? 0 : (double) totalNanos / calls;
+		}
+
+	}
+
+}
@@ -0,0 +1,35 @@
+package sawfowl.localeapi.api;
+
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+/**
+ * Accessor of a {@link LocaleReference} class generated at compile time by the LocaleAPI annotation processor.<br>
+ * The processor creates the class <b>'ClassName_LocaleAccessor'</b> in the package of each {@link LocaleReference} class annotated with {@link ConfigSerializable}.<br>
+ * When the accessor is present, the class is loaded and saved through it instead of the reflection based object mapper.<br>
+ * Add the <b>'processor'</b> module of LocaleAPI to the <b>annotationProcessor</b> configuration of the plugin to use it.
+ * 
+ * @param <T> - {@link LocaleReference} class.
+ */
+public interface LocaleReferenceAccessor<T extends LocaleReference> {
+
+	/**
+	 * Suffix of the generated class name.
+	 */
+	String SUFFIX = "_LocaleAccessor";
+
+	Class<T> type();
+
+	/**
+	 * Creating an object and filling it with the values of the node.<br>
+	 * Fields whose paths are missing in the node keep their default values.
+	 */
+	T load(ConfigurationNode node) throws SerializationException;
+
+	/**
+	 * Writing the field values of the object to the node.
+	 */
+	void save(T reference, ConfigurationNode node) throws SerializationException;
+
+}
@@ -1,11 +1,16 @@
 package sawfowl.localeapi.api;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
 import org.spongepowered.plugin.PluginContainer;
 
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TranslatableComponent;
+
 public interface LocaleService {
 
 	/*
@@ -45,7 +50,7 @@ public interface LocaleService {
 	 * Methods for getting this object will return null.
 	 * 
 	 * @param plugin - A class annotated with '@Plugin'.
-	 * @param locale - Selected localization. If the selected localization is not found, the default localization will be returned.
+	 * @param locale - Selected localization. If the selected localization is not found, a localization of the same language or the fallback localization will be returned, otherwise the default localization.
 	 */
 	PluginLocale getOrDefaultLocale(PluginContainer plugin, Locale locale);
 
@@ -55,7 +60,7 @@ public interface LocaleService {
 	 * Methods for getting this object will return null.
 	 * 
 	 * @param pluginID - Plugin ID.
-	 * @param locale - Selected localization. If the selected localization is not found, the default localization will be returned.
+	 * @param locale - Selected localization. If the selected localization is not found, a localization of the same language or the fallback localization will be returned, otherwise the default localization.
 	 */
 	PluginLocale getOrDefaultLocale(String pluginID, Locale locale);
 
@@ -110,6 +115,7 @@ public interface LocaleService {
 	 * <b>1</b> - All NBT tags will be written in 1 line. This option is the most reliable, but significantly complicates manual editing of NBT tags in config.<br>
 	 * <b>2</b> - Advanced recording. Easier to make manual changes to the config. If you have problems with this type of serialization, you should report errors to the LocaleAPI plugin developer.<br>
 	 * <b>3</b> - Using Sponge serializer. Some data will be written in 1 line. If you encounter problems with this type of serialization, you should report bugs to the Sponge developers.<br>
+	 * <b>4</b> - Compact binary recording. Components are written as Base64 of NBT and decoded only when the item is obtained. Items written by other variants are read and converted on the next save.<br>
 	 */
 	void setItemStackSerializerVariant(PluginContainer container, int variant) throws Exception ;
 
@@ -149,4 +155,146 @@ public interface LocaleService {
 	 */
 	Class<? extends LocaleReference> getDefaultReference(String pluginID);
 
+	/**
+	 * Enabling the compact read-only storage for plugin localizations.<br>
+	 * The locale tree is flattened into a deduplicated string pool shared by all locales of the plugin, and the configuration nodes are released.<br>
+	 * Requesting the {@link PluginLocale#getLocaleRootNode()} or changing the localization restores the configuration nodes from disk until the next save or reload.<br>
+	 * Not applied to the <b>'*.properties'</b> configuration and to localizations with {@link LocaleReference} classes.
+	 * 
+	 * @param container - {@link PluginContainer}
+	 * @param compact - true to enable.
+	 */
+	void setCompactStorage(PluginContainer container, boolean compact);
+
+	/**
+	 * Checking if the compact storage is enabled for the plugin localizations.
+	 * 
+	 * @param pluginID - Plugin ID.
+	 */
+	boolean isCompactStorage(String pluginID);
+
+	/**
+	 * Getting a report with the approximate memory used by localizations in the compact storage,<br>
+	 * compared with the memory used by the configuration nodes from which they were created.
+	 */
+	String getCompactStorageReport();
+
+	/**
+	 * Enabling the compaction of components returned by {@link Text#get()}.<br>
+	 * Adjacent text nodes with the same style are merged, empty nodes are removed and wrappers without their own style are flattened.
+	 * This reduces the size of the Json sent to the players after many replacements of placeholders.<br>
+	 * Disabled by default.<br>
+	 * This is a server-wide setting that affects the texts of all plugins, so it is intended for the server administrator and not for individual plugins.
+	 */
+	void setComponentCompaction(boolean enable);
+
+	boolean isComponentCompaction();
+
+	/**
+	 * Getting a report with the Json size of sampled components before and after compaction.
+	 */
+	String getComponentCompactionReport();
+
+	/**
+	 * Setting the localization used when a path is missing in the selected localization and in other localizations of the same language.<br>
+	 * The default localization is always checked last.<br>
+	 * Lookup order: selected localization -> same language -> fallback localization -> default localization.
+	 * 
+	 * @param container - {@link PluginContainer}
+	 * @param locale - Selected localization.
+	 * @param fallback - Fallback localization. null to remove.
+	 */
+	void setFallbackLocale(PluginContainer container, Locale locale, Locale fallback);
+
+	/**
+	 * Getting the fallback localization set for the selected localization.
+	 * 
+	 * @param pluginID - Plugin ID.
+	 * @param locale - Selected localization.
+	 * @return null if not set.
+	 */
+	Locale getFallbackLocale(String pluginID, Locale locale);
+
+	/**
+	 * Getting the localization paths that were requested but not found in the locale and in its fallback locales.<br>
+	 * Each missing path is logged only once, and the placeholder message for it is created only once.
+	 * 
+	 * @return List sorted by the number of requests, most frequent first.
+	 */
+	List<MissingKey> getMissingKeys();
+
+	/**
+	 * Saving the list of missing localization paths to the <b>'missing-keys.txt'</b> file in the LocaleAPI config directory.
+	 * 
+	 * @return Path to the file, or null if the file could not be saved.
+	 */
+	Path saveMissingKeys();
+
+	/**
+	 * Getting the counters of the localization service: lookups, cache hits, missing paths, reloads, placeholder timings and the file watcher queue.<br>
+	 * The counters are also written to the <b>'metrics.json'</b> file in the LocaleAPI config directory every minute.
+	 */
+	LocaleMetrics metrics();
+
+	/**
+	 * Getting the registry of the click callbacks shared by all recipients of a message.<br>
+	 * Use it instead of {@link Text#createCallBack(java.util.function.Consumer)} for messages sent to many players.
+	 */
+	ClickCallbacks callbacks();
+
+	/**
+	 * Sending a localized message to all recipients of the audience.<br>
+	 * Recipients are grouped by locale, and the message is created once for each locale with the arguments applied.
+	 * After that, only the placeholders registered for the recipient class are applied for each recipient.
+	 * 
+	 * @param audience - Recipients. For example, <b>Sponge.server()</b> or a collection of players via <b>Audience.audience(...)</b>.
+	 * @param plugin - A class annotated with '@Plugin'.
+	 * @param path - Path to the message in the plugin localization.
+	 * @param args - Objects whose placeholders are applied to the message. For example, the player who caused the message.
+	 */
+	void broadcast(Audience audience, PluginContainer plugin, Object[] path, Object... args);
+
+	/**
+	 * Sending a localized message to all recipients of the audience.<br>
+	 * See {@link #broadcast(Audience, PluginContainer, Object[], Object...)}
+	 * 
+	 * @param pluginID - Plugin ID.
+	 */
+	void broadcast(Audience audience, String pluginID, Object[] path, Object... args);
+
+	/**
+	 * Registering the plugin localizations in the Adventure <b>GlobalTranslator</b>.<br>
+	 * After that, {@link TranslatableComponent} with the plugin keys are rendered in the locale of each recipient.
+	 * So one component can be sent to many recipients, and the rendered text is cached for each locale until the localization is reloaded.
+	 * 
+	 * @param plugin - A class annotated with '@Plugin'.
+	 */
+	void registerTranslations(PluginContainer plugin);
+
+	/**
+	 * Registering the plugin localizations in the Adventure <b>GlobalTranslator</b>.<br>
+	 * See {@link #registerTranslations(PluginContainer)}
+	 * 
+	 * @param pluginID - Plugin ID.
+	 */
+	void registerTranslations(String pluginID);
+
+	/**
+	 * Creating a component rendered from the plugin localization in the locale of the recipient.<br>
+	 * Translation key - plugin ID and the path separated by dots, for example <b>"localeapi:Messages.Reload"</b>.<br>
+	 * The arguments replace the <b>{0}</b>, <b>{1}</b>... keys in the localized text.<br>
+	 * The plugin must be registered via {@link #registerTranslations(PluginContainer)}.
+	 * 
+	 * @param plugin - A class annotated with '@Plugin'.
+	 * @param path - Path to the message in the plugin localization.
+	 */
+	TranslatableComponent translatable(PluginContainer plugin, Object[] path, ComponentLike... args);
+
+	/**
+	 * See {@link #translatable(PluginContainer, Object[], ComponentLike...)}
+	 * 
+	 * @param pluginID - Plugin ID.
+	 */
+	TranslatableComponent translatable(String pluginID, Object[] path, ComponentLike... args);
+
 }
@@ -0,0 +1,11 @@
+package sawfowl.localeapi.api;
+
+/**
+ * Localization path that was requested but not found in the locale and in its fallback locales.
+ * 
+ * @param pluginID - Plugin ID.
+ * @param locale - Language tag of the requested locale.
+ * @param path - Requested path.
+ * @param count - How many times the path was requested.
+ */
+public record MissingKey(String pluginID, String locale, String path, long count) {}
@@ -0,0 +1,67 @@
+package sawfowl.localeapi.api;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+
+/**
+ * Text whose serialized forms are created once and reused.<br>
+ * Intended for messages that are the same for all players of a locale, such as the motd, join messages or scoreboards.
+ * The Json, legacy and plain forms are created on the first request.<br>
+ * Created via {@link PluginLocale#pin(Object...)} or {@link Text#pin()}.
+ */
+public final class PinnedText implements ComponentLike {
+
+	private final Component component;
+	private volatile String json;
+	private volatile String legacy;
+	private volatile String plain;
+
+	private PinnedText(Component component) {
+		this.component = component == null ? Component.empty() : component;
+	}
+
+	public static PinnedText of(Component component) {
+		return new PinnedText(component);
+	}
+
+	@Override
+	public Component asComponent() {
+		return component;
+	}
+
+	/**
+	 * Getting a new {@link Text} for modifying the pinned component.
+	 */
+	public Text toText() {
+		return Text.of(component);
+	}
+
+	/**
+	 * It is used {@link TextUtils#serializeJson(Component)}
+	 */
+	public String toJson() {
+		String result = json;
+		if(result == null) json = result = TextUtils.serializeJson(component);
+		return result;
+	}
+
+	/**
+	 * It is used {@link TextUtils#serializeLegacy(Component)}
+	 */
+	public String toLegacy() {
+		String result = legacy;
+		if(result == null) legacy = result = TextUtils.serializeLegacy(component);
+		return result;
+	}
+
+	/**
+	 * Getting a string without any decoration. Appropriate for sending a message to the console.
+	 */
+	public String toPlain() {
+		String result = plain;
+		if(result == null) plain = result = PlainTextComponentSerializer.plainText().serialize(component);
+		return result;
+	}
+
+}
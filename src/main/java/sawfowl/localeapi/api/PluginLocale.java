@@ -57,6 +57,14 @@ public interface PluginLocale {
 	 */
 	Text getText(Object... path);
 
+	/**
+	 * Getting the component with its Json, legacy and plain forms created once for this localization.<br>
+	 * The result is cached and recreated after the localization is reloaded or changed.
+	 */
+	default PinnedText pin(Object... path) {
+		return PinnedText.of(getComponent(path));
+	}
+
 	/**
 	 * Getting deserialized text in the constructor for its further modification.<br>
 	 * The operation is possible only after the constructor is registered in the {@link RegisterBuilderEvent} event.
@@ -147,13 +155,24 @@ public interface PluginLocale {
 	<T extends LocaleReference> void setLocaleReference(T reference) throws SerializationException, ConfigurateException;
 
 	/**
-	 * Getting the serializable class from the given localization if it was previously assigned.
+	 * Getting the serializable class from the given localization if it was previously assigned.<br>
+	 * The returned object is a snapshot created after the last reload or change of the localization.<br>
+	 * It does not access the disk and can be called from any thread. The same object is returned to all callers, so it must not be modified, use {@link #setLocaleReference(LocaleReference)} for changes.
 	 * 
 	 * @param <T> clazz - The serializable class extends {@link LocaleReference}
 	 * @return Serializable class, or null if no class assignment was previously made.
 	 */
 	<T extends LocaleReference> T asReference(Class<T> clazz);
 
+	/**
+	 * Version of the localization data.<br>
+	 * Changes on every reload or modification of this localization or the localizations it falls back to.<br>
+	 * Can be used to invalidate data cached from the localization.
+	 */
+	default long getGeneration() {
+		return 0;
+	}
+
 	/**
 	 * Checking for the existence of a localization file on disk.
 	 */
@@ -9,6 +9,7 @@ import org.spongepowered.api.data.persistence.DataSerializable;
 
 import net.kyori.adventure.builder.AbstractBuilder;
 import net.kyori.adventure.text.Component;
+import sawfowl.localeapi.apiclasses.ImmutableTextImpl;
 import sawfowl.localeapi.api.placeholders.Placeholders;
 import sawfowl.localeapi.api.placeholders.Placeholders.DefaultPlaceholderKeys;
 
@@ -26,6 +27,20 @@ public interface Text extends DataSerializable {
 		return builder().fromString(string);
 	}
 
+	/**
+	 * Creating a text which is never changed. See {@link Builder#immutable()}
+	 */
+	static Text immutable(Component component) {
+		return builder().immutable().fromComponent(component);
+	}
+
+	/**
+	 * Creating a text which is never changed. See {@link Builder#immutable()}
+	 */
+	static Text immutable(String string) {
+		return builder().immutable().fromString(string);
+	}
+
 	/**
 	 * Exiting from the editor and retrieve the {@link Component} object.
 	 */
@@ -99,11 +114,27 @@ public interface Text extends DataSerializable {
 	 */
 	Text createCallBack(Consumer<CommandCause> callback);
 
+	/**
+	 * Adding the execution of the shared callback when you click on text.<br>
+	 * The callback is registered once and used by all recipients. See {@link ClickCallbacks}<br>
+	 * The default implementation returns a new text, so the result must be used.
+	 */
+	default Text createCallBack(ClickCallback<?> callback) {
+		return of(get().clickEvent(callback.clickEvent()));
+	}
+
 	/**
 	 * Removing all decorations from the text.
 	 */
 	Text removeDecorations();
 
+	/**
+	 * Fixing the current component with its serialized forms, which are created once and reused on every send.
+	 */
+	default PinnedText pin() {
+		return PinnedText.of(get());
+	}
+
 	default Text replace(Placeholders.DefaultPlaceholderKeys key, String value) {
 		return replace(key.textKey(), value);
 	}
@@ -134,6 +165,15 @@ public interface Text extends DataSerializable {
 
 		Text fromString(String string);
 
+		/**
+		 * Switching the builder to the creation of a text which is never changed.<br>
+		 * Each operation of such a text returns a new object, so the result must always be used, for example <b>text = text.replace(key, value)</b>.<br>
+		 * The text can be cached and used from several threads at the same time.
+		 */
+		default Builder immutable() {
+			return ImmutableTextImpl.builder(Component.empty());
+		}
+
 	}
 
 }
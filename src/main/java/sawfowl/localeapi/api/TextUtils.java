@@ -33,6 +33,22 @@ public class TextUtils {
 		return component.clickEvent(SpongeComponents.executeCallback(callback));
 	}
 
+	/**
+	 * Adding the execution of the shared callback when you click on text.<br>
+	 * The callback is registered once and used by all recipients. See {@link ClickCallbacks}
+	 */
+	public static Component createCallBack(Component component, ClickCallback<?> callback) {
+		return component.clickEvent(callback.clickEvent());
+	}
+
+	/**
+	 * Merging adjacent text nodes with the same style, removing empty nodes and flattening wrappers without their own style.<br>
+	 * It is used {@link Component#compact()}
+	 */
+	public static Component compact(Component component) {
+		return component == null ? Component.empty() : component.compact();
+	}
+
 	/**
 	 * It is used {@link LegacyComponentSerializer#legacyAmpersand()}
 	 */
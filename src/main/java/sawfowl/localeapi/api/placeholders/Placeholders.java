@@ -7,8 +7,10 @@ import org.apache.commons.lang3.ClassUtils;
 
 import net.kyori.adventure.text.Component;
 
+import sawfowl.localeapi.api.LocaleMetrics;
 import sawfowl.localeapi.api.Text;
 import sawfowl.localeapi.api.TextUtils;
+import sawfowl.localeapi.apiclasses.LocaleMetricsRegistry;
 
 public class Placeholders {
 
@@ -31,27 +33,38 @@ public class Placeholders {
 		return register(clazz, key.id(), placeholder);
 	}
 
-	@SuppressWarnings({ "unchecked" })
+	/**
+	 * The result of each placeholder is passed to the next one, so immutable texts are supported.<br>
+	 * Always use the returned text.
+	 */
 	public static <T> Text apply(Text text, T arg, Component def) {
+		return applySystemPlaceholders(applyFor(text, arg, def), def);
+	}
+
+	/**
+	 * Applying only the placeholders registered for the class and interfaces of the object, without the system placeholders.
+	 */
+	@SuppressWarnings({ "unchecked" })
+	public static <T> Text applyFor(Text text, T arg, Component def) {
 		Class<?> clazz = arg.getClass();
-		if(PLACEHOLDERS.containsKey(clazz)) PLACEHOLDERS.get(arg.getClass()).values().forEach(placeholder -> ((Placeholder<T>) placeholder).apply(text, arg, def));
+		if(PLACEHOLDERS.containsKey(clazz)) {
+			for(Map.Entry<String, Placeholder<?>> entry : PLACEHOLDERS.get(clazz).entrySet()) text = applyTimed(entry.getKey(), (Placeholder<T>) entry.getValue(), text, arg, def);
+		}
 		for(Class<?> clazz2 : clazz.getClasses()) {
-			if(clazz != clazz2 && PLACEHOLDERS.containsKey(clazz2)) PLACEHOLDERS.get(clazz2).values().forEach(placeholder -> applyOther(text, cast(arg), placeholder, def));
+			if(clazz != clazz2 && PLACEHOLDERS.containsKey(clazz2)) text = applyAll(PLACEHOLDERS.get(clazz2), text, arg, def);
 		}
 		for(Class<?> clazz2 : ClassUtils.getAllInterfaces(clazz)) {
-			if(clazz != clazz2 && PLACEHOLDERS.containsKey(clazz2)) PLACEHOLDERS.get(clazz2).values().forEach(placeholder -> applyOther(text, cast(arg), placeholder, def));
+			if(clazz != clazz2 && PLACEHOLDERS.containsKey(clazz2)) text = applyAll(PLACEHOLDERS.get(clazz2), text, arg, def);
 		}
-		applySystemPlaceholders(text, def);
 		return text;
 	}
 
 	public static Text applySystemPlaceholders(Text text, Component def) {
-		SYSTEM_PLACEHOLDERS.values().forEach(placeholder -> placeholder.apply(text, null, def));
-		return text;
+		return applyAll(SYSTEM_PLACEHOLDERS, text, null, def);
 	}
 
 	public static Text apply(Text text, Component def, Object... args) {
-		for(Object arg : args) apply(text, arg, def);
+		for(Object arg : args) text = apply(text, arg, def);
 		return text;
 	}
 
@@ -71,8 +84,23 @@ public class Placeholders {
 		return apply(Text.of(string), arg, TextUtils.deserialize(def));
 	}
 
-	private static <T> Text applyOther(Text text, T arg, Placeholder<? extends T> placeholder, Component def) {
-		return cast(placeholder).apply(text, arg, def);
+	private static Text applyAll(Map<String, Placeholder<?>> placeholders, Text text, Object arg, Component def) {
+		for(Map.Entry<String, Placeholder<?>> entry : placeholders.entrySet()) text = applyTimed(entry.getKey(), cast(entry.getValue()), text, cast(arg), def);
+		return text;
+	}
+
+	/**
+	 * The evaluation time is recorded in {@link LocaleMetrics#getPlaceholderTimings()}.<br>
+	 * A placeholder returning null does not change the text.
+	 */
+	private static <T> Text applyTimed(String id, Placeholder<T> placeholder, Text text, T arg, Component def) {
+		long start = System.nanoTime();
+		try {
+			Text result = placeholder.apply(text, arg, def);
+			return result == null ? text : result;
+		} finally {
+			LocaleMetricsRegistry.get().placeholder(id, System.nanoTime() - start);
+		}
 	}
 
 	@SuppressWarnings("unchecked")
@@ -1,6 +1,8 @@
 package sawfowl.localeapi.api.serializetools;
 
 import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockState;
@@ -27,50 +29,118 @@ import com.google.gson.JsonPrimitive;
 import net.kyori.adventure.serializer.configurate4.ConfigurateComponentSerializer;
 
 import sawfowl.localeapi.api.ConfigTypes;
+import sawfowl.localeapi.api.LocaleReference;
 import sawfowl.localeapi.api.LocalisedComment;
 import sawfowl.localeapi.apiclasses.LocalisedCommentFactory;
+import sawfowl.localeapi.apiclasses.ReferenceAccessors;
+import sawfowl.localeapi.apiclasses.serializers.itemstack.BinaryItemStackSerializer;
 import sawfowl.localeapi.apiclasses.serializers.itemstack.ItemStackSerializer;
 import sawfowl.localeapi.apiclasses.serializers.itemstack.PlainItemStackSerializer;
 import sawfowl.localeapi.apiclasses.serializers.json.JsonArraySerializer;
 import sawfowl.localeapi.apiclasses.serializers.json.JsonElementSerializer;
 import sawfowl.localeapi.apiclasses.serializers.json.JsonObjectSerializer;
 import sawfowl.localeapi.apiclasses.serializers.json.JsonPrimitiveSerializer;
+import sawfowl.localeapi.apiclasses.serializers.reference.LocaleReferenceAccessorSerializer;
 
 /**
  * These options disable serialization of objects not marked by the <b>@Setting</b> annotation.
  */
 public class SerializeOptions {
 
+	private static final TypeSerializer<LocaleReference> REFERENCE_ACCESSOR_SERIALIZER = new LocaleReferenceAccessorSerializer();
 	private static final TypeSerializer<ItemStack> ITEMSTACK_SERIALIZER_1 = new PlainItemStackSerializer();
 	private static final TypeSerializer<ItemStack> ITEMSTACK_SERIALIZER_2 = new ItemStackSerializer();
+	private static final TypeSerializer<ItemStack> ITEMSTACK_SERIALIZER_4 = new BinaryItemStackSerializer();
 	public static final ObjectMapper.Factory FACTORY = ObjectMapper.factoryBuilder().addProcessor(LocalisedComment.class, new LocalisedCommentFactory()).addNodeResolver(NodeResolver.onlyWithSetting()).build();
 	public static final TypeSerializerCollection JSON_SERIALIZERS = TypeSerializerCollection.defaults().childBuilder().register(JsonElement.class, new JsonElementSerializer()).register(JsonObject.class, new JsonObjectSerializer()).register(JsonArray.class, new JsonArraySerializer()).register(JsonPrimitive.class, new JsonPrimitiveSerializer()).build();
-	public static final TypeSerializerCollection SERIALIZER_COLLECTION_VARIANT_1 = TypeSerializerCollection.defaults().childBuilder().registerAnnotatedObjects(FACTORY).register(ItemStack.class, ITEMSTACK_SERIALIZER_1).register(BlockState.class, Sponge.game().configManager().serializers().get(BlockState.class)).registerAll(TypeSerializerCollection.defaults()).registerAll(ConfigurateComponentSerializer.configurate().serializers()).registerAll(JSON_SERIALIZERS).build();
-	public static final TypeSerializerCollection SERIALIZER_COLLECTION_VARIANT_2 = TypeSerializerCollection.defaults().childBuilder().registerAnnotatedObjects(FACTORY).register(ItemStack.class, ITEMSTACK_SERIALIZER_2).register(BlockState.class, Sponge.game().configManager().serializers().get(BlockState.class)).registerAll(TypeSerializerCollection.defaults()).registerAll(ConfigurateComponentSerializer.configurate().serializers()).registerAll(JSON_SERIALIZERS).build();
-	public static final TypeSerializerCollection SERIALIZER_COLLECTION_VARIANT_3 = TypeSerializerCollection.defaults().childBuilder().registerAnnotatedObjects(FACTORY).registerAll(Sponge.game().configManager().serializers()).registerAll(ConfigurateComponentSerializer.configurate().serializers()).registerAll(JSON_SERIALIZERS).build();
+	public static final TypeSerializerCollection SERIALIZER_COLLECTION_VARIANT_1 = TypeSerializerCollection.defaults().childBuilder().register(ReferenceAccessors::isPresent, REFERENCE_ACCESSOR_SERIALIZER).registerAnnotatedObjects(FACTORY).register(ItemStack.class, ITEMSTACK_SERIALIZER_1).register(BlockState.class, Sponge.game().configManager().serializers().get(BlockState.class)).registerAll(TypeSerializerCollection.defaults()).registerAll(ConfigurateComponentSerializer.configurate().serializers()).registerAll(JSON_SERIALIZERS).build();
+	public static final TypeSerializerCollection SERIALIZER_COLLECTION_VARIANT_2 = TypeSerializerCollection.defaults().childBuilder().register(ReferenceAccessors::isPresent, REFERENCE_ACCESSOR_SERIALIZER).registerAnnotatedObjects(FACTORY).register(ItemStack.class, ITEMSTACK_SERIALIZER_2).register(BlockState.class, Sponge.game().configManager().serializers().get(BlockState.class)).registerAll(TypeSerializerCollection.defaults()).registerAll(ConfigurateComponentSerializer.configurate().serializers()).registerAll(JSON_SERIALIZERS).build();
+	public static final TypeSerializerCollection SERIALIZER_COLLECTION_VARIANT_3 = TypeSerializerCollection.defaults().childBuilder().register(ReferenceAccessors::isPresent, REFERENCE_ACCESSOR_SERIALIZER).registerAnnotatedObjects(FACTORY).registerAll(Sponge.game().configManager().serializers()).registerAll(ConfigurateComponentSerializer.configurate().serializers()).registerAll(JSON_SERIALIZERS).build();
+	public static final TypeSerializerCollection SERIALIZER_COLLECTION_VARIANT_4 = TypeSerializerCollection.defaults().childBuilder().register(ReferenceAccessors::isPresent, REFERENCE_ACCESSOR_SERIALIZER).registerAnnotatedObjects(FACTORY).register(ItemStack.class, ITEMSTACK_SERIALIZER_4).register(BlockState.class, Sponge.game().configManager().serializers().get(BlockState.class)).registerAll(TypeSerializerCollection.defaults()).registerAll(ConfigurateComponentSerializer.configurate().serializers()).registerAll(JSON_SERIALIZERS).build();
 	public static final ConfigurationOptions OPTIONS_VARIANT_1 = ConfigurationOptions.defaults().serializers(SERIALIZER_COLLECTION_VARIANT_1);
 	public static final ConfigurationOptions OPTIONS_VARIANT_2 = ConfigurationOptions.defaults().serializers(SERIALIZER_COLLECTION_VARIANT_2);
 	public static final ConfigurationOptions OPTIONS_VARIANT_3 = ConfigurationOptions.defaults().serializers(SERIALIZER_COLLECTION_VARIANT_3);
+	public static final ConfigurationOptions OPTIONS_VARIANT_4 = ConfigurationOptions.defaults().serializers(SERIALIZER_COLLECTION_VARIANT_4);
+
+	private static final ConfigurationOptions[] YAML_OPTIONS = new ConfigurationOptions[4];
+	private static final ConfigurationOptions[] HOCON_OPTIONS = new ConfigurationOptions[4];
+	private static final ConfigurationOptions[] JSON_OPTIONS = new ConfigurationOptions[4];
+	private static final Map<LoaderKey, ConfigurationLoader<?>> LOADERS = new ConcurrentHashMap<LoaderKey, ConfigurationLoader<?>>();
+
+	static {
+		for(int variant = 1; variant <= 4; variant++) {
+			TypeSerializerCollection serializers = selectSerializersCollection(variant);
+			YAML_OPTIONS[variant - 1] = YamlConfigurationLoader.builder().defaultOptions(options -> options.serializers(serializers)).defaultOptions();
+			HOCON_OPTIONS[variant - 1] = HoconConfigurationLoader.builder().defaultOptions(options -> options.serializers(serializers)).defaultOptions();
+			JSON_OPTIONS[variant - 1] = GsonConfigurationLoader.builder().defaultOptions(options -> options.serializers(serializers)).defaultOptions();
+		}
+	}
 
 	/**
 	 * Creating a YAML config with serializers applied and standard options preserved.
 	 */
 	public static YamlConfigurationLoader.Builder createYamlConfigurationLoader(int itemStackSerializerVariant) {
-		return YamlConfigurationLoader.builder().defaultOptions(options -> options.serializers(selectSerializersCollection(itemStackSerializerVariant))).nodeStyle(NodeStyle.BLOCK);
+		return YamlConfigurationLoader.builder().defaultOptions(YAML_OPTIONS[variantIndex(itemStackSerializerVariant)]).nodeStyle(NodeStyle.BLOCK);
 	}
 
 	/**
 	 * Creating a HOCON config with serializers applied and standard options preserved.
 	 */
 	public static HoconConfigurationLoader.Builder createHoconConfigurationLoader(int itemStackSerializerVariant) {
-		return HoconConfigurationLoader.builder().defaultOptions(options -> options.serializers(selectSerializersCollection(itemStackSerializerVariant)));
+		return HoconConfigurationLoader.builder().defaultOptions(HOCON_OPTIONS[variantIndex(itemStackSerializerVariant)]);
 	}
 
 	/**
 	 * Creating a JSON config with serializers applied and standard options preserved.
 	 */
 	public static GsonConfigurationLoader.Builder createJsonConfigurationLoader(int itemStackSerializerVariant) {
-		return GsonConfigurationLoader.builder().defaultOptions(options -> options.serializers(selectSerializersCollection(itemStackSerializerVariant)));
+		return GsonConfigurationLoader.builder().defaultOptions(JSON_OPTIONS[variantIndex(itemStackSerializerVariant)]);
+	}
+
+	/**
+	 * Getting a YAML config loader for the plugin file.<br>
+	 * Loaders are immutable, so one loader is created for each combination of the plugin, serializer variant and file, and then reused.
+	 */
+	public static YamlConfigurationLoader getYamlConfigurationLoader(String pluginID, int itemStackSerializerVariant, Path path) {
+		return (YamlConfigurationLoader) getConfigLoader(pluginID, ConfigTypes.YAML, itemStackSerializerVariant, path);
+	}
+
+	/**
+	 * Getting a HOCON config loader for the plugin file.<br>
+	 * Loaders are immutable, so one loader is created for each combination of the plugin, serializer variant and file, and then reused.
+	 */
+	public static HoconConfigurationLoader getHoconConfigurationLoader(String pluginID, int itemStackSerializerVariant, Path path) {
+		return (HoconConfigurationLoader) getConfigLoader(pluginID, ConfigTypes.HOCON, itemStackSerializerVariant, path);
+	}
+
+	/**
+	 * Getting a JSON config loader for the plugin file.<br>
+	 * Loaders are immutable, so one loader is created for each combination of the plugin, serializer variant and file, and then reused.
+	 */
+	public static GsonConfigurationLoader getJsonConfigurationLoader(String pluginID, int itemStackSerializerVariant, Path path) {
+		return (GsonConfigurationLoader) getConfigLoader(pluginID, ConfigTypes.JSON, itemStackSerializerVariant, path);
+	}
+
+	/**
+	 * Removing the cached loaders of the plugin.
+	 */
+	public static void clearConfigLoaders(String pluginID) {
+		LOADERS.keySet().removeIf(key -> key.pluginID().equals(pluginID));
+	}
+
+	private static ConfigurationLoader<?> getConfigLoader(String pluginID, ConfigTypes configType, int itemStackSerializerVariant, Path path) {
+		return LOADERS.computeIfAbsent(new LoaderKey(pluginID, configType, variantIndex(itemStackSerializerVariant) + 1, path.toAbsolutePath().normalize()), key -> {
+			switch(key.configType()) {
+				case HOCON: return createHoconConfigurationLoader(key.variant()).path(key.path()).build();
+				case YAML: return createYamlConfigurationLoader(key.variant()).path(key.path()).build();
+				case JSON: return createJsonConfigurationLoader(key.variant()).path(key.path()).build();
+				default: throw new IllegalArgumentException("Inappropriate value: " + key.configType());
+			}
+		});
+	}
+
+	private static int variantIndex(int itemStackSerializerVariant) {
+		return itemStackSerializerVariant >= 2 && itemStackSerializerVariant <= 4 ? itemStackSerializerVariant - 1 : 0;
 	}
 
 	public static ConfigurationNode createVirtualNode(int itemStackSerializerVariant) {
@@ -102,11 +172,13 @@ public class SerializeOptions {
 	 * <b>1</b> - All NBT tags will be written in 1 line. This option is the most reliable, but significantly complicates manual editing of NBT tags in config.<br>
 	 * <b>2</b> - Advanced recording. Easier to make manual changes to the config. If you have problems with this type of serialization, you should report errors to the LocaleAPI plugin developer.<br>
 	 * <b>3</b> - Using Sponge serializer. Some data will be written in 1 line. If you encounter problems with this type of serialization, you should report bugs to the Sponge developers.<br>
+	 * <b>4</b> - Compact binary recording. Components are written as Base64 of NBT and decoded only when the item is obtained. Items written by other variants are read and converted on the next save.<br>
 	 */
 	public static ConfigurationOptions selectOptions(int itemStackSerializerVariant) {
 		switch(itemStackSerializerVariant) {
 			case 2: return OPTIONS_VARIANT_1;
 			case 3: return OPTIONS_VARIANT_2;
+			case 4: return OPTIONS_VARIANT_4;
 			default: return OPTIONS_VARIANT_3;
 		}
 	}
@@ -116,13 +188,17 @@ public class SerializeOptions {
 	 * <b>1</b> - All NBT tags will be written in 1 line. This option is the most reliable, but significantly complicates manual editing of NBT tags in config.<br>
 	 * <b>2</b> - Advanced recording. Easier to make manual changes to the config. If you have problems with this type of serialization, you should report errors to the LocaleAPI plugin developer.<br>
 	 * <b>3</b> - Using Sponge serializer. Some data will be written in 1 line. If you encounter problems with this type of serialization, you should report bugs to the Sponge developers.<br>
+	 * <b>4</b> - Compact binary recording. Components are written as Base64 of NBT and decoded only when the item is obtained. Items written by other variants are read and converted on the next save.<br>
 	 */
 	public static TypeSerializerCollection selectSerializersCollection(int itemStackSerializerVariant) {
 		switch(itemStackSerializerVariant) {
 			case 2: return SERIALIZER_COLLECTION_VARIANT_2;
 			case 3: return SERIALIZER_COLLECTION_VARIANT_3;
+			case 4: return SERIALIZER_COLLECTION_VARIANT_4;
 			default: return SERIALIZER_COLLECTION_VARIANT_1;
 		}
 	}
 
+	private record LoaderKey(String pluginID, ConfigTypes configType, int variant, Path path) {}
+
 }
@@ -0,0 +1,63 @@
+package sawfowl.localeapi.api.serializetools.itemstack;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.spongepowered.api.ResourceKey;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.item.ItemType;
+import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.api.registry.RegistryTypes;
+
+/**
+ * Shared item data for serialized items with the same content.<br>
+ * Prototypes are never given out directly, only their copies.
+ */
+final class ItemStackCache {
+
+	private static final int MAX_PROTOTYPES = 1024;
+	private static final Map<String, ItemType> TYPES = new ConcurrentHashMap<String, ItemType>();
+	private static final Map<PrototypeKey, ItemStack> PROTOTYPES = new LinkedHashMap<PrototypeKey, ItemStack>(64, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<PrototypeKey, ItemStack> eldest) {
+			return size() > MAX_PROTOTYPES;
+		}
+	};
+
+	private ItemStackCache() {}
+
+	/**
+	 * Only found types are cached, so an item registered later will still be resolved.
+	 */
+	static Optional<ItemType> itemType(String id) {
+		ItemType type = TYPES.get(id);
+		if(type != null) return Optional.of(type);
+		Optional<ItemType> found = Sponge.game().registry(RegistryTypes.ITEM_TYPE).findValue(ResourceKey.resolve(id));
+		found.ifPresent(value -> TYPES.put(id, value));
+		return found;
+	}
+
+	/**
+	 * The prototype for the given content. The builder is called only if there is no such prototype yet.
+	 */
+	static ItemStack prototype(String type, String components, String nbt, Supplier<ItemStack> builder) {
+		PrototypeKey key = new PrototypeKey(type, components, nbt);
+		synchronized(PROTOTYPES) {
+			ItemStack prototype = PROTOTYPES.get(key);
+			if(prototype != null) return prototype;
+		}
+		ItemStack prototype = builder.get();
+		if(prototype.isEmpty()) return prototype;
+		synchronized(PROTOTYPES) {
+			ItemStack previous = PROTOTYPES.putIfAbsent(key, prototype);
+			return previous != null ? previous : prototype;
+		}
+	}
+
+	private record PrototypeKey(String type, String components, String nbt) {}
+
+}
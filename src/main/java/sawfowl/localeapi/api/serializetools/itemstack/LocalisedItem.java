@@ -0,0 +1,94 @@
+package sawfowl.localeapi.api.serializetools.itemstack;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.spongepowered.api.data.Keys;
+import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.api.util.locale.LocaleSource;
+import org.spongepowered.plugin.PluginContainer;
+
+import sawfowl.localeapi.api.LocaleService;
+import sawfowl.localeapi.api.PluginLocale;
+
+/**
+ * Item with the name and lore taken from the plugin localization.<br>
+ * The item is built once for each locale and rebuilt only after the localization is reloaded,
+ * so showing the item in a menu costs one {@link ItemStack#copy()}.
+ */
+public class LocalisedItem {
+
+	private final LocaleService localeService;
+	private final String pluginID;
+	private final SerializedItemStack template;
+	private final Object[] namePath;
+	private final Object[] lorePath;
+	private final Map<Locale, Built> built = new ConcurrentHashMap<Locale, Built>();
+
+	/**
+	 * @param template - Item without the localized name and lore.
+	 * @param namePath - Path to the item name in the plugin localization. Null - the name of the template is used.
+	 * @param lorePath - Path to the list of lore lines in the plugin localization. Null - the lore of the template is used.
+	 */
+	public LocalisedItem(LocaleService localeService, PluginContainer plugin, SerializedItemStack template, Object[] namePath, Object[] lorePath) {
+		this(localeService, plugin.metadata().id(), template, namePath, lorePath);
+	}
+
+	/**
+	 * @param template - Item without the localized name and lore.
+	 * @param namePath - Path to the item name in the plugin localization. Null - the name of the template is used.
+	 * @param lorePath - Path to the list of lore lines in the plugin localization. Null - the lore of the template is used.
+	 */
+	public LocalisedItem(LocaleService localeService, String pluginID, SerializedItemStack template, Object[] namePath, Object[] lorePath) {
+		this.localeService = localeService;
+		this.pluginID = pluginID;
+		this.template = template;
+		this.namePath = namePath;
+		this.lorePath = lorePath;
+	}
+
+	/**
+	 * Getting a copy of the item localized for the player or other locale source.
+	 */
+	public ItemStack getItemStack(LocaleSource source) {
+		return getItemStack(source.locale());
+	}
+
+	/**
+	 * Getting a copy of the item localized for the locale.<br>
+	 * If the plugin has no such locale, the default locale is used.
+	 */
+	public ItemStack getItemStack(Locale locale) {
+		PluginLocale pluginLocale = localeService.getOrDefaultLocale(pluginID, locale);
+		if(pluginLocale == null) return template.getItemStack();
+		Built cached = built.get(locale);
+		long generation = pluginLocale.getGeneration();
+		if(cached == null || cached.locale() != pluginLocale || cached.generation() != generation) {
+			cached = new Built(pluginLocale, generation, build(pluginLocale));
+			built.put(locale, cached);
+		}
+		return cached.itemStack().copy();
+	}
+
+	/**
+	 * Clearing the built items. They will be built again on the next request.
+	 */
+	public void invalidate() {
+		built.clear();
+	}
+
+	public SerializedItemStack getTemplate() {
+		return template;
+	}
+
+	private ItemStack build(PluginLocale pluginLocale) {
+		ItemStack itemStack = template.getItemStack();
+		if(namePath != null) itemStack.offer(Keys.CUSTOM_NAME, pluginLocale.getComponent(namePath));
+		if(lorePath != null) itemStack.offer(Keys.LORE, pluginLocale.getListComponents(lorePath));
+		return itemStack;
+	}
+
+	private record Built(PluginLocale locale, long generation, ItemStack itemStack) {}
+
+}
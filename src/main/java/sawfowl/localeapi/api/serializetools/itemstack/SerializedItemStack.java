@@ -1,7 +1,10 @@
 package sawfowl.localeapi.api.serializetools.itemstack;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -10,13 +13,12 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 
-import org.spongepowered.api.ResourceKey;
-import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.data.persistence.DataContainer;
@@ -52,6 +54,8 @@ import sawfowl.localeapi.api.serializetools.SerializeOptions;
 @ConfigSerializable
 public class SerializedItemStack implements PluginComponent {
 
+	private static final Object NO_COMPONENTS = new Object();
+
 	SerializedItemStack(){}
 
 	public SerializedItemStack(ItemStack itemStack) {
@@ -100,9 +104,13 @@ public class SerializedItemStack implements PluginComponent {
 	private JsonObject jsonComponents;
 	@Setting("NBT")
 	private String nbt;
+	@Setting("Binary")
+	private String binary;
 	private transient ItemStack itemStack;
 	private transient ComponentUtil tagUtil;
 	private transient DataContainer itemContainer = null;
+	private transient volatile DataView pluginComponents;
+	private transient volatile Object comparable;
 
 	public String getItemTypeAsString() {
 		return itemType;
@@ -119,9 +127,22 @@ public class SerializedItemStack implements PluginComponent {
 	 * Get all tags as a string.
 	 */
 	public String getComponentsAsString() {
+		if(components == null && binary != null) try {
+			return DataFormats.JSON.get().write(readBinary(binary));
+		} catch (InvalidDataException | IOException e) {
+			e.printStackTrace();
+		}
 		return components != null ? components : "";
 	}
 
+	/**
+	 * Getting components in binary form(Base64 of NBT).<br>
+	 * Returns null if the components are not converted with {@link #toBinaryComponents()}.
+	 */
+	public String getComponentsAsBinary() {
+		return binary;
+	}
+
 	/**
 	 * The method returns a copy of the item's NBT tag collection in Json format.
 	 */
@@ -130,42 +151,25 @@ public class SerializedItemStack implements PluginComponent {
 	}
 
 	/**
-	 * Getting {@link ItemStack}
+	 * Getting {@link ItemStack}<br>
+	 * Items with the same type and components share one prototype, so the data is decoded only once.
 	 */
 	public ItemStack getItemStack() {
 		if(tagUtil != null) {
 			tagUtil = null;
 		}
-		if(itemStack != null) return itemStack.copy();
-		if(getItemType().isPresent()) {
-			itemStack = ItemStack.of(getItemType().get());
-			itemStack.setQuantity(itemQuantity);
-			if(itemContainer == null) itemContainer = itemStack.toContainer();
-			if(nbt != null && !nbt.equals("")) {
-				try {
-					if(nbt != null && !nbt.equals("")) {
-						itemContainer.set(DataQuery.of("UnsafeData"), DataFormats.JSON.get().read(nbt));
-					}
-					if(components != null && !components.equals("")) {
-						itemContainer.set(DataQuery.of(ComponentUtil.COMPONENTS), DataFormats.JSON.get().read(components));
-					} else if(jsonComponents != null && !jsonComponents.isEmpty()) {
-						itemContainer.set(DataQuery.of(ComponentUtil.COMPONENTS), DataFormats.JSON.get().read(jsonComponents.toString()));
-					}
-				} catch (InvalidDataException | IOException e) {
-					e.printStackTrace();
-				}
-			}
-			itemStack = ItemStack.builder().fromContainer(itemContainer).build();
-		} else itemStack = ItemStack.empty();
-		itemContainer = null;
-		return itemStack.copy();
+		ItemStack prototype = itemStack;
+		if(prototype == null) itemStack = prototype = itemContainer != null ? build() : ItemStackCache.prototype(itemType, binary != null ? binary : componentsString(), nbt, this::build);
+		ItemStack copy = prototype.copy();
+		if(!copy.isEmpty() && itemQuantity != null) copy.setQuantity(itemQuantity);
+		return copy;
 	}
 
 	/**
 	 * Getting {@link ItemType}
 	 */
 	public Optional<ItemType> getItemType() {
-		return Sponge.game().registry(RegistryTypes.ITEM_TYPE).findValue(ResourceKey.resolve(itemType));
+		return ItemStackCache.itemType(itemType);
 	}
 
 	/**
@@ -177,12 +181,77 @@ public class SerializedItemStack implements PluginComponent {
 
 	/**
 	 * Gaining access to the NBT tags of an item.
-	 * Each time the data is changed, all components will be converted to a single string.
+	 * Each time the data is changed, all components will be converted to a single string.<br>
+	 * To apply several changes with one conversion, use {@link #edit(Consumer)}.
 	 */
 	public ComponentUtil getOrCreateComponent() {
 		return tagUtil == null ? tagUtil = new EditNBT() : tagUtil;
 	}
 
+	/**
+	 * Changing several components of the item in one session.<br>
+	 * All changes are applied to one data container, and the components are serialized once, after the session is completed.<br>
+	 * Reads inside the session see the changes made in it.
+	 * 
+	 * @param session - Changes of the components.
+	 */
+	public SerializedItemStack edit(Consumer<ComponentUtil> session) {
+		EditNBT editor = tagUtil instanceof EditNBT current ? current : new EditNBT();
+		tagUtil = editor;
+		editor.begin();
+		try {
+			session.accept(editor);
+		} finally {
+			editor.commit();
+		}
+		return this;
+	}
+
+	private ItemStack build() {
+		Optional<ItemType> type = getItemType();
+		if(type.isEmpty()) {
+			itemContainer = null;
+			return ItemStack.empty();
+		}
+		if(itemContainer == null) {
+			itemContainer = ItemStack.of(type.get()).toContainer();
+			try {
+				if(nbt != null && !nbt.equals("")) itemContainer.set(DataQuery.of("UnsafeData"), DataFormats.JSON.get().read(nbt));
+				String components = componentsString();
+				if(binary != null) {
+					itemContainer.set(DataQuery.of(ComponentUtil.COMPONENTS), readBinary(binary));
+				} else if(components != null) itemContainer.set(DataQuery.of(ComponentUtil.COMPONENTS), DataFormats.JSON.get().read(components));
+			} catch (InvalidDataException | IOException e) {
+				e.printStackTrace();
+			}
+		}
+		ItemStack built = ItemStack.builder().fromContainer(itemContainer).build();
+		itemContainer = null;
+		return built;
+	}
+
+	/**
+	 * Decoded components used for comparison, so the same item stored as a string, a Json object or in binary form is equal.<br>
+	 * If the components cannot be decoded, their string is used.
+	 */
+	private Object comparableComponents() {
+		Object result = comparable;
+		if(result != null) return result == NO_COMPONENTS ? null : result;
+		String json = binary == null ? componentsString() : null;
+		try {
+			result = binary != null ? readBinary(binary) : json != null ? DataFormats.JSON.get().read(json) : NO_COMPONENTS;
+		} catch (InvalidDataException | IOException e) {
+			result = binary != null ? binary : json;
+		}
+		comparable = result;
+		return result == NO_COMPONENTS ? null : result;
+	}
+
+	private String componentsString() {
+		if(components != null && !components.equals("")) return components;
+		return jsonComponents != null && !jsonComponents.isEmpty() ? jsonComponents.toString() : null;
+	}
+
 	/**
 	 * Changing {@link ItemStack} volume.
 	 */
@@ -194,6 +263,7 @@ public class SerializedItemStack implements PluginComponent {
 	 * Convert a string containing component data to a {@link JsonObject} for better readability in configuration.
 	 */
 	public SerializedItemStack toJsonComponents() {
+		if(binary != null) toPlainComponents();
 		if(components != null) jsonComponents = JsonParser.parseString(components).getAsJsonObject();
 		components = null;
 		return this;
@@ -203,14 +273,36 @@ public class SerializedItemStack implements PluginComponent {
 	 * Convert existing components data to a single string to reduce the size of the config file.
 	 */
 	public SerializedItemStack toPlainComponents() {
+		if(binary != null) try {
+			components = DataFormats.JSON.get().write(readBinary(binary));
+			binary = null;
+		} catch (InvalidDataException | IOException e) {
+			e.printStackTrace();
+		}
 		if(jsonComponents != null && !jsonComponents.isEmpty()) components = jsonComponents.toString();
 		jsonComponents = null;
 		return this;
 	}
 
+	/**
+	 * Convert existing components data to a compact binary form(Base64 of NBT).<br>
+	 * The data is decoded only when the item is first obtained. Changing components converts them back to a string.
+	 */
+	public SerializedItemStack toBinaryComponents() {
+		String json = componentsString();
+		if(json != null) try {
+			binary = writeBinary(DataFormats.JSON.get().read(json));
+			components = null;
+			jsonComponents = null;
+		} catch (InvalidDataException | IOException e) {
+			e.printStackTrace();
+		}
+		return this;
+	}
+
 	@Override
 	public int hashCode() {
-		return Objects.hash(itemQuantity, itemStack, itemType, components);
+		return Objects.hash(itemQuantity, itemType, comparableComponents());
 	}
 
 	@Override
@@ -218,11 +310,11 @@ public class SerializedItemStack implements PluginComponent {
 		if(this == obj) return true;
 		if(!(obj instanceof SerializedItemStack)) return false;
 		SerializedItemStack other = (SerializedItemStack) obj;
-		return Objects.equals(itemQuantity, other.itemQuantity) && Objects.equals(itemType, other.itemType) && Objects.equals(components, other.components);
+		return Objects.equals(itemQuantity, other.itemQuantity) && Objects.equals(itemType, other.itemType) && Objects.equals(comparableComponents(), other.comparableComponents());
 	}
 
 	public boolean equalsWhithoutQuantity(SerializedItemStack itemStack) {
-		return this == itemStack || (Objects.equals(itemType, itemStack.itemType) && Objects.equals(components, itemStack.components));
+		return this == itemStack || (Objects.equals(itemType, itemStack.itemType) && Objects.equals(comparableComponents(), itemStack.comparableComponents()));
 	}
 
 	public boolean equalsWhithoutNBT(SerializedItemStack itemStack) {
@@ -250,7 +342,7 @@ public class SerializedItemStack implements PluginComponent {
 				e.printStackTrace();
 			}
 		}
-		this.itemStack = itemStack;
+		this.itemStack = itemStack.copy();
 	}
 
 	@Override
@@ -259,21 +351,52 @@ public class SerializedItemStack implements PluginComponent {
 		object.addProperty("ItemType", itemType);
 		object.addProperty("Quantity", itemQuantity);
 		if(components != null) object.addProperty("ComponentsMap", components);
+		if(binary != null) object.addProperty("Binary", binary);
 		return object;
 	}
 
+	private static String writeBinary(DataView view) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DataFormats.NBT.get().writeTo(out, view);
+		return Base64.getEncoder().encodeToString(out.toByteArray());
+	}
+
+	private static DataContainer readBinary(String binary) throws IOException {
+		return DataFormats.NBT.get().readFrom(new ByteArrayInputStream(Base64.getDecoder().decode(binary)));
+	}
+
 	class EditNBT implements ComponentUtil {
 
+		private int sessions;
+		private boolean changed;
+
 		EditNBT() {
 			toPlainComponents();
 			checkContainer();
 		}
 
+		private void begin() {
+			sessions++;
+		}
+
+		private void commit() {
+			if(--sessions > 0 || !changed) return;
+			changed = false;
+			updateNbt();
+		}
+
 		private void updateNbt() {
+			pluginComponents = null;
+			if(sessions > 0) {
+				changed = true;
+				return;
+			}
 			itemStack = null;
 			jsonComponents = null;
+			binary = null;
+			comparable = null;
 			try {
-				components = DataFormats.JSON.get().write(itemContainer);
+				components = DataFormats.JSON.get().write(itemContainer.getView(DataQuery.of(COMPONENTS)).orElseGet(DataContainer::createNew));
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
@@ -327,8 +450,7 @@ public class SerializedItemStack implements PluginComponent {
 			if(json == null) return this;
 			checkContainer();
 			putJsonObject(json, COMPONENTS, CUSTOM_DATA, PLUGINCOMPONENTS, getPluginId(container), key);
-			itemStack = null;
-			getItemStack();
+			updateNbt();
 			return this;
 		}
 
@@ -342,14 +464,14 @@ public class SerializedItemStack implements PluginComponent {
 
 		@Override
 		public boolean containsComponent(PluginContainer container, String key) {
-			return getItemStack().toContainer().contains(createPath(container, key));
+			return pluginComponents().contains(createLocalPath(container, key));
 		}
 
 		@SuppressWarnings("unchecked")
 		@Override
 		public <T> T getObject(PluginContainer container, String key, T def) {
 			if(containsComponent(container, key)) {
-				Object object = getItemStack().toContainer().get(createPath(container, key)).get();
+				Object object = pluginComponents().get(createLocalPath(container, key)).get();
 				if(!object.getClass().isAssignableFrom(def.getClass())) {
 					try {
 						return (T) BasicConfigurationNode.root(SerializeOptions.OPTIONS_VARIANT_2).set(object).get(def.getClass());
@@ -363,7 +485,7 @@ public class SerializedItemStack implements PluginComponent {
 		@Override
 		public <T> List<T> getObjectsList(Class<T> clazz, PluginContainer container, String key, List<T> def) {
 			if(containsComponent(container, key)) {
-				Object object = getItemStack().toContainer().get(createPath(container, key)).get();
+				Object object = pluginComponents().get(createLocalPath(container, key)).get();
 				if(object instanceof Collection) {
 					Collection<?> objects = ((Collection<?>) object);
 					if(objects.isEmpty()) return def;
@@ -381,7 +503,7 @@ public class SerializedItemStack implements PluginComponent {
 		@Override
 		public <K, V> Map<K, V> getObjectsMap(Class<K> mapKey, Class<V> mapValue, PluginContainer container, String key, Map<K, V> def) {
 			if(containsComponent(container, key)) {
-				Object object = getItemStack().toContainer().get(createPath(container, key)).get();
+				Object object = pluginComponents().get(createLocalPath(container, key)).get();
 				if(object instanceof DataView dataView) {
 					@SuppressWarnings("rawtypes")
 					Map objects = new HashMap<>();
@@ -402,21 +524,23 @@ public class SerializedItemStack implements PluginComponent {
 
 		@Override
 		public <T extends PluginComponent> Optional<T> getPluginComponent(Class<T> clazz, PluginContainer container, String key) {
+			Optional<DataView> component = pluginComponents().getView(createLocalPath(container, key));
+			if(component.isEmpty()) return Optional.empty();
 			try {
-				return Optional.ofNullable(BasicConfigurationNode.root(SerializeOptions.OPTIONS_VARIANT_2).set(JsonParser.parseString(components)).node(CUSTOM_DATA, PLUGINCOMPONENTS, getPluginId(container), key).get(clazz));
-			} catch (SerializationException | JsonSyntaxException e) {
+				return Optional.ofNullable(BasicConfigurationNode.root(SerializeOptions.OPTIONS_VARIANT_2).set(JsonParser.parseString(DataFormats.JSON.get().write(component.get()))).get(clazz));
+			} catch (SerializationException | JsonSyntaxException | IOException e) {
 				return Optional.empty();
 			}
 		}
 
 		@Override
 		public Set<String> getAllKeys(PluginContainer container) {
-			return getItemStack().toContainer().get(createPath(COMPONENTS, CUSTOM_DATA, PLUGINCOMPONENTS, getPluginId(container))).map(data -> ((DataView) data).keys(false).stream().map(q -> q.asString(';')).collect(Collectors.toSet())).orElse(new HashSet<String>());
+			return pluginComponents().getView(createPath(getPluginId(container))).map(data -> data.keys(false).stream().map(q -> q.asString(';')).collect(Collectors.toSet())).orElse(new HashSet<String>());
 		}
 
 		@Override
 		public int size(PluginContainer container) {
-			return getItemStack().toContainer().get(createPath(COMPONENTS, CUSTOM_DATA, PLUGINCOMPONENTS, getPluginId(container))).map(data -> ((DataView) data).keys(false).size()).orElse(0);
+			return pluginComponents().getView(createPath(getPluginId(container))).map(data -> data.keys(false).size()).orElse(0);
 		}
 
 		private String getPluginId(PluginContainer container) {
@@ -431,6 +555,29 @@ public class SerializedItemStack implements PluginComponent {
 			return DataQuery.of(path);
 		}
 
+		private DataQuery createLocalPath(PluginContainer plugin, String key) {
+			return DataQuery.of(getPluginId(plugin), key);
+		}
+
+		/**
+		 * Read-only copy of the plugin components subtree.<br>
+		 * Created once and reused by all reads until the components are changed.
+		 */
+		private DataView pluginComponents() {
+			DataView view = pluginComponents;
+			if(view == null) pluginComponents = view = view().getView(createPath(COMPONENTS, CUSTOM_DATA, PLUGINCOMPONENTS)).map(DataView::copy).orElseGet(DataContainer::createNew);
+			return view;
+		}
+
+		/**
+		 * Inside an edit session, the data is read from the changed container without building the item.
+		 */
+		private DataView view() {
+			if(sessions == 0) return getItemStack().toContainer();
+			checkContainer();
+			return itemContainer;
+		}
+
 		private void checkContainer() {
 			if(itemContainer == null) itemContainer = getItemStack().toContainer();
 		}
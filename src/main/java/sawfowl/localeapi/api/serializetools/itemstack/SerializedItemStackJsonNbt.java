@@ -13,8 +13,6 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.math.NumberUtils;
-import org.spongepowered.api.ResourceKey;
-import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.data.persistence.DataContainer;
@@ -132,7 +130,7 @@ public class SerializedItemStackJsonNbt implements PluginComponent {
 		 * Getting {@link ItemType}
 		 */
 		public Optional<ItemType> getItemType() {
-			return Sponge.game().registry(RegistryTypes.ITEM_TYPE).findValue(ResourceKey.resolve(itemType));
+			return ItemStackCache.itemType(itemType);
 		}
 
 		public String getItemTypeAsString() {
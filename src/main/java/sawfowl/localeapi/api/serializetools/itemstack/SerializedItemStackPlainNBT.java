@@ -15,8 +15,6 @@ import java.util.stream.Collectors;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 
-import org.spongepowered.api.ResourceKey;
-import org.spongepowered.api.Sponge;
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.data.persistence.DataContainer;
@@ -150,7 +148,7 @@ public class SerializedItemStackPlainNBT implements PluginComponent {
 	 * Getting {@link ItemType}
 	 */
 	public Optional<ItemType> getItemType() {
-		return Sponge.game().registry(RegistryTypes.ITEM_TYPE).findValue(ResourceKey.resolve(itemType));
+		return ItemStackCache.itemType(itemType);
 	}
 
 	/**
@@ -1,17 +1,23 @@
 package sawfowl.localeapi.apiclasses;
 
 import java.io.File;
-import java.lang.reflect.Field;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.ArrayUtils;
 
 import org.spongepowered.api.util.locale.Locales;
 import org.spongepowered.configurate.ConfigurateException;
-import org.spongepowered.configurate.objectmapping.meta.Setting;
+import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.serialize.SerializationException;
 
 import net.kyori.adventure.text.Component;
@@ -20,6 +26,7 @@ import sawfowl.localeapi.api.ConfigTypes;
 import sawfowl.localeapi.api.LocaleReference;
 import sawfowl.localeapi.api.LocaleService;
 import sawfowl.localeapi.api.Logger;
+import sawfowl.localeapi.api.PinnedText;
 import sawfowl.localeapi.api.PluginLocale;
 import sawfowl.localeapi.api.Text;
 import sawfowl.localeapi.api.TextUtils;
@@ -33,12 +40,24 @@ public abstract class AbstractLocale implements PluginLocale {
 	protected final boolean thisIsDefault;
 	protected final Path path;
 	protected final String locale;
+	protected volatile CompactLocaleStorage compactStorage;
+	private final Map<PathKey, ResolvedNode> resolvedNodes = new ConcurrentHashMap<PathKey, ResolvedNode>();
+	private final Map<PathKey, AbstractLocale> fallbackOwners = new ConcurrentHashMap<PathKey, AbstractLocale>();
+	private final Map<PathKey, Pinned> pinned = new ConcurrentHashMap<PathKey, Pinned>();
+	private volatile List<AbstractLocale> fallbackChain;
+	private final MissingKeyRegistry.Misses misses;
+	private final AtomicLong generation = new AtomicLong();
+	private volatile Class<? extends LocaleReference> referenceType;
+	private volatile LocaleReference reference;
+	protected final LongAdder lookups;
 	public AbstractLocale(LocaleService localeService, Logger logger, Path path, String pluginID, String locale) {
 		this.localeService = localeService;
 		this.logger = logger;
 		this.path = path.resolve(pluginID + File.separator + locale + getType().toString());
 		this.pluginID = pluginID;
 		this.locale = locale;
+		misses = MissingKeyRegistry.get().forLocale(pluginID, locale);
+		lookups = LocaleMetricsRegistry.get().lookupCounter(pluginID, locale);
 		thisIsDefault = locale.equals(Locales.DEFAULT.toLanguageTag());
 		setDefaultReference();
 	}
@@ -47,13 +66,55 @@ public abstract class AbstractLocale implements PluginLocale {
 
 	abstract void setComment(String comment, Object... path);
 
+	/**
+	 * Releasing the configuration tree after it was flattened to the compact storage.<br>
+	 * The tree must be restored from disk the next time it is requested.
+	 * 
+	 * @return false if the tree cannot be released.
+	 */
+	abstract boolean releaseLocaleNode();
+
+	/**
+	 * Rebuilding the compact storage from the current locale tree.<br>
+	 * Does nothing if the compact storage is not enabled for the plugin.
+	 */
+	public void updateCompactStorage() {
+		invalidateNodeCache();
+		compactStorage = null;
+		if(getType() == ConfigTypes.PROPERTIES || !localeService.isCompactStorage(pluginID)) return;
+		ConfigurationNode root = getLocaleRootNode();
+		if(root == null || root.empty()) return;
+		CompactLocaleStorage storage = CompactLocaleStorage.flatten(root, CompactStringPool.forPlugin(pluginID));
+		if(releaseLocaleNode()) compactStorage = storage;
+	}
+
+	/**
+	 * @return null if the compact storage is not used by this locale.
+	 */
+	public CompactLocaleStorage getCompactStorage() {
+		return compactStorage;
+	}
+
 	@Override
 	public Component getComponent(Object... path) {
-		if(thisIsDefault && getLocaleNode(path).virtual()) return TextUtils.deserializeLegacy("&cPath " + getPathName(path) + " not exist!");
-		try {
-			return getLocaleNode(path).virtual() && !thisIsDefault ? getDefaultLocale().getComponent(path) : (getLocaleNode(path).childrenList().isEmpty() && getLocaleNode(path).childrenMap().isEmpty() ? TextUtils.deserialize(getString(path)) : getLocaleNode(path).get(Component.class));
-		} catch (SerializationException e) {
-			return TextUtils.deserialize(getString(path));
+		lookups.increment();
+		CompactLocaleStorage compact = compactStorage;
+		if(compact != null) {
+			Component component = compact.getComponent(path);
+			if(component != null) return component;
+		}
+		ResolvedNode resolved = resolveNode(path);
+		switch(resolved.kind()) {
+			case VIRTUAL:
+				AbstractLocale fallback = findFallback(path);
+				return fallback == null ? missing(path).getComponent() : fallback.getComponent(path);
+			case SCALAR: return TextUtils.deserialize(resolved.node().getString());
+			default:
+				try {
+					return resolved.node().get(Component.class);
+				} catch (SerializationException e) {
+					return TextUtils.deserialize(resolved.node().getString());
+				}
 		}
 	}
 
@@ -62,6 +123,17 @@ public abstract class AbstractLocale implements PluginLocale {
 		return Text.of(getComponent(path));
 	}
 
+	@Override
+	public PinnedText pin(Object... path) {
+		long current = generation.get();
+		Pinned pin = pinned.get(PathKey.lookup(path));
+		if(pin == null || pin.generation() != current) {
+			pin = new Pinned(current, PinnedText.of(getComponent(path)));
+			pinned.put(PathKey.of(path), pin);
+		}
+		return pin.text();
+	}
+
 	@Override
 	public List<Text> getTexts(Object... path) {
 		return getListComponents(path).stream().map(Text::of).toList();
@@ -69,39 +141,69 @@ public abstract class AbstractLocale implements PluginLocale {
 
 	@Override
 	public List<Component> getListComponents(Object... path) {
-		if(thisIsDefault && getLocaleNode(path).virtual()) return Arrays.asList(TextUtils.deserializeLegacy("&cPath " + getPathName(path) + " not exist!"));
-		try {
-			return getLocaleNode(path).virtual() && !thisIsDefault ? getDefaultLocale().getListComponents(path) : (getLocaleNode(path).childrenList().isEmpty() && getLocaleNode(path).childrenMap().isEmpty() ? getListStrings(path).stream().map(TextUtils::deserialize).toList() : getLocaleNode(path).getList(Component.class));
-		} catch (SerializationException e) {
-			return getListStrings(path).stream().map(TextUtils::deserialize).toList();
+		lookups.increment();
+		CompactLocaleStorage compact = compactStorage;
+		if(compact != null) {
+			List<Component> components = compact.getListComponents(path);
+			if(components != null) return components;
+		}
+		ResolvedNode resolved = resolveNode(path);
+		switch(resolved.kind()) {
+			case VIRTUAL:
+				AbstractLocale fallback = findFallback(path);
+				return fallback == null ? missing(path).getComponents() : fallback.getListComponents(path);
+			case SCALAR: return getListStrings(resolved.node(), path).stream().map(TextUtils::deserialize).toList();
+			default:
+				try {
+					return resolved.node().getList(Component.class);
+				} catch (SerializationException e) {
+					return getListStrings(resolved.node(), path).stream().map(TextUtils::deserialize).toList();
+				}
 		}
 	}
 
 	@Override
 	public String getString(Object... path) {
-		if(thisIsDefault && getLocaleNode(path).virtual()) return "Path " + getPathName(path) + " not exist!";
-		return getLocaleNode(path).virtual() && !thisIsDefault ? getDefaultLocale().getString(path) : getLocaleNode(path).getString();
+		lookups.increment();
+		CompactLocaleStorage compact = compactStorage;
+		if(compact != null) {
+			String string = compact.getString(path);
+			if(string != null) return string;
+		}
+		ResolvedNode resolved = resolveNode(path);
+		if(resolved.kind() == NodeKind.VIRTUAL) {
+			AbstractLocale fallback = findFallback(path);
+			return fallback == null ? missing(path).getMessage() : fallback.getString(path);
+		}
+		return resolved.node().getString();
 	}
 
 	@Override
 	public List<String> getListStrings(Object... path) {
-		if(thisIsDefault && getLocaleNode(path).virtual()) return Arrays.asList("Path " + getPathName(path) + " not exist!");
-		try {
-			return getLocaleNode(path).virtual() && !thisIsDefault ? getDefaultLocale().getListStrings(path) : getLocaleNode(path).getList(String.class);
-		} catch (SerializationException e) {
-			logger.error(e.getLocalizedMessage());
+		lookups.increment();
+		CompactLocaleStorage compact = compactStorage;
+		if(compact != null) {
+			List<String> strings = compact.getListStrings(path);
+			if(strings != null) return strings;
 		}
-		return Arrays.asList("Error getting list of Strings " + getPathName(path));
+		ResolvedNode resolved = resolveNode(path);
+		if(resolved.kind() == NodeKind.VIRTUAL) {
+			AbstractLocale fallback = findFallback(path);
+			return fallback == null ? missing(path).getStrings() : fallback.getListStrings(path);
+		}
+		return getListStrings(resolved.node(), path);
 	}
 
 	@Override
 	public boolean checkComponent(boolean json, Component component, String comment, Object... path) {
-		if(getLocaleNode(path).empty() || !fileExists()) {
+		if(!fileExists() || isEmpty(path)) {
 			try {
 				if(json) {
 					getLocaleNode(path).set(Component.class, component);
 				} else getLocaleNode(path).set(TextUtils.serializeLegacy(component));
 				if(comment != null) setComment(comment, path);
+				invalidateNodeCache();
+				republishReference();
 				return true;
 			} catch (SerializationException e) {
 				logger.error(e.getLocalizedMessage());
@@ -112,12 +214,14 @@ public abstract class AbstractLocale implements PluginLocale {
 
 	@Override
 	public boolean checkListComponents(boolean json, List<Component> components, String comment, Object... path) {
-		if(getLocaleNode(path).empty() || !fileExists()) {
+		if(!fileExists() || isEmpty(path)) {
 			try {
 				if(json) {
 					getLocaleNode(path).setList(Component.class, components);
 				} else getLocaleNode(path).setList(String.class, components.stream().map(TextUtils::serializeLegacy).toList());
 				if(comment != null) setComment(comment, path);
+				invalidateNodeCache();
+				republishReference();
 				return true;
 			} catch (SerializationException e) {
 				logger.error(e.getLocalizedMessage());
@@ -128,10 +232,12 @@ public abstract class AbstractLocale implements PluginLocale {
 
 	@Override
 	public boolean checkString(String string, String comment, Object... path) {
-		if(getLocaleNode(path).empty() || !fileExists()) {
+		if(!fileExists() || isEmpty(path)) {
 			try {
 				getLocaleNode(path).set(string);
 				if(comment != null) setComment(comment, path);
+				invalidateNodeCache();
+				republishReference();
 				return true;
 			} catch (SerializationException e) {
 				logger.error(e.getLocalizedMessage());
@@ -142,10 +248,12 @@ public abstract class AbstractLocale implements PluginLocale {
 
 	@Override
 	public boolean checkListStrings(List<String> strings, String comment, Object... path) {
-		if(getLocaleNode(path).empty() || !fileExists()) {
+		if(!fileExists() || isEmpty(path)) {
 			try {
 				getLocaleNode(path).setList(String.class, strings);
 				if(comment != null) setComment(comment, path);
+				invalidateNodeCache();
+				republishReference();
 				return true;
 			} catch (SerializationException e) {
 				logger.error(e.getLocalizedMessage());
@@ -159,18 +267,227 @@ public abstract class AbstractLocale implements PluginLocale {
 		return path.toFile().exists();
 	}
 
+	/**
+	 * Checking the node at the path for emptiness without restoring the configuration tree released to the compact storage.
+	 */
+	protected boolean isEmpty(Object... path) {
+		CompactLocaleStorage compact = compactStorage;
+		return compact != null ? compact.isEmpty(path) : getLocaleNode(path).empty();
+	}
+
+	/**
+	 * Clearing the cache of resolved nodes without changing the generation.<br>
+	 * Must be called when the configuration tree replaces the compact storage with the same content, or when a node is handed out for changes.
+	 */
+	protected void clearResolvedNodes() {
+		resolvedNodes.clear();
+	}
+
+	/**
+	 * Clearing the cache of resolved nodes.<br>
+	 * Must be called after the locale tree is replaced or changed.<br>
+	 * The registered misses of the plugin locales are kept, except for the paths that are found after the change.
+	 */
+	protected void invalidateNodeCache() {
+		resolvedNodes.clear();
+		pinned.clear();
+		fallbackOwners.clear();
+		generation.incrementAndGet();
+		List<AbstractLocale> others = new ArrayList<AbstractLocale>();
+		localeService.getPluginLocales(pluginID).values().forEach(pluginLocale -> {
+			if(pluginLocale instanceof AbstractLocale abstractLocale && abstractLocale != this) {
+				abstractLocale.fallbackOwners.clear();
+				abstractLocale.generation.incrementAndGet();
+				others.add(abstractLocale);
+			}
+		});
+		forgetResolvedMisses();
+		others.forEach(AbstractLocale::forgetResolvedMisses);
+	}
+
+	/**
+	 * Clearing the caches of this locale for a path added to it.<br>
+	 * Unlike {@link #invalidateNodeCache()}, the other locales of the plugin are not touched, so adding many paths one by one stays cheap.
+	 * The locales using this one as a fallback find the path after the next full invalidation.
+	 */
+	protected void invalidatePath(Object... path) {
+		PathKey key = PathKey.lookup(path);
+		resolvedNodes.remove(key);
+		pinned.remove(key);
+		fallbackOwners.remove(key);
+		misses.forget(path);
+		generation.incrementAndGet();
+	}
+
+	private void forgetResolvedMisses() {
+		misses.forgetResolved(path -> containsPath(path) || findFallback(path) != null);
+	}
+
+	/**
+	 * Clearing the fallback chain. It will be resolved again on the next lookup of a missing path.<br>
+	 * Must be called when the set of plugin locales or the configured fallback locales are changed.
+	 */
+	public void invalidateFallbackChain() {
+		fallbackChain = null;
+		fallbackOwners.clear();
+	}
+
+	/**
+	 * Ordered list of locales used when a path is missing in this locale.<br>
+	 * Locales of the same language go first, then the configured fallback locale, then the default locale.
+	 */
+	public List<AbstractLocale> getFallbackChain() {
+		List<AbstractLocale> chain = fallbackChain;
+		if(chain != null) return chain;
+		Map<Locale, PluginLocale> locales = localeService.getPluginLocales(pluginID);
+		Locale current = Locale.forLanguageTag(locale);
+		List<AbstractLocale> result = new ArrayList<AbstractLocale>();
+		locales.entrySet().stream()
+			.filter(entry -> !entry.getKey().toLanguageTag().equals(locale) && entry.getKey().getLanguage().equals(current.getLanguage()))
+			.sorted(Comparator.comparing(entry -> entry.getKey().toLanguageTag()))
+			.forEach(entry -> addToChain(result, entry.getValue()));
+		Locale configured = localeService.getFallbackLocale(pluginID, current);
+		if(configured != null) addToChain(result, locales.get(configured));
+		addToChain(result, locales.get(Locales.DEFAULT));
+		return fallbackChain = List.copyOf(result);
+	}
+
+	/**
+	 * Checking for the existence of a path in this locale, without fallback.
+	 */
+	protected boolean containsPath(Object... path) {
+		CompactLocaleStorage compact = compactStorage;
+		return compact != null ? compact.contains(path) : resolveNode(path).kind() != NodeKind.VIRTUAL;
+	}
+
+	/**
+	 * Finding the locale from the fallback chain containing the path missing in this locale.<br>
+	 * The result is cached, so repeated lookups of a missing path do not search the chain again.
+	 * 
+	 * @return null if the path is missing in all locales of the chain.
+	 */
+	protected AbstractLocale findFallback(Object... path) {
+		AbstractLocale owner = fallbackOwners.get(PathKey.lookup(path));
+		if(owner == null) {
+			owner = this;
+			for(AbstractLocale fallback : getFallbackChain()) {
+				if(fallback.containsPath(path)) {
+					owner = fallback;
+					break;
+				}
+			}
+			fallbackOwners.put(PathKey.of(path), owner);
+		}
+		return owner == this ? null : owner;
+	}
+
+	private void addToChain(List<AbstractLocale> chain, PluginLocale pluginLocale) {
+		if(pluginLocale instanceof AbstractLocale abstractLocale && abstractLocale != this && !chain.contains(abstractLocale)) chain.add(abstractLocale);
+	}
+
+	/**
+	 * Getting the node and its kind with a single tree descent.<br>
+	 * If the locale tree is released to the compact storage, a detached node is taken from the storage, so the tree is never read from disk on lookups.<br>
+	 * The result is cached until the locale tree is changed. Missing paths are not cached, so values written to the node without saving are found.
+	 */
+	protected ResolvedNode resolveNode(Object... path) {
+		ResolvedNode resolved = resolvedNodes.get(PathKey.lookup(path));
+		if(resolved != null) {
+			LocaleMetricsRegistry.get().cacheHit();
+			return resolved;
+		}
+		LocaleMetricsRegistry.get().cacheMiss();
+		CompactLocaleStorage compact = compactStorage;
+		ConfigurationNode node = compact != null ? compact.getNode(path) : getLocaleRootNode().node(path);
+		if(node == null) return new ResolvedNode(null, NodeKind.VIRTUAL);
+		resolved = new ResolvedNode(node, NodeKind.of(node));
+		if(resolved.kind() != NodeKind.VIRTUAL) resolvedNodes.put(PathKey.of(path), resolved);
+		return resolved;
+	}
+
+	private List<String> getListStrings(ConfigurationNode node, Object... path) {
+		try {
+			return node.getList(String.class);
+		} catch (SerializationException e) {
+			logger.error(e.getLocalizedMessage());
+		}
+		return Arrays.asList("Error getting list of Strings " + getPathName(path));
+	}
+
 	protected PluginLocale getDefaultLocale() {
 		return localeService.getPluginLocales(pluginID).get(Locales.DEFAULT);
 	}
 
+	/**
+	 * Registering the miss of a path that is not found in this locale and in its fallback chain.
+	 * 
+	 * @return Cached placeholder message for the path.
+	 */
+	protected MissingKeyRegistry.Entry missing(Object... path) {
+		return misses.miss(logger, path, () -> getPathName(path), () -> getMissingMessage(path));
+	}
+
+	protected String getMissingMessage(Object... path) {
+		return "Path " + getPathName(path) + " not exist!";
+	}
+
 	protected String getPathName(Object... path) {
 		return "[" + String.join(", ", Stream.of(path).map(Object::toString).toArray(String[]::new)) + "]";
 	}
 
-	protected void setDefaultReference() {
+	@Override
+	public long getGeneration() {
+		return generation.get();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends LocaleReference> T asReference(Class<T> clazz) {
+		LocaleReference current = reference;
+		if(current != null) return (T) current;
+		if(thisIsDefault) return null;
+		PluginLocale defaultLocale = getDefaultLocale();
+		return defaultLocale == null ? null : defaultLocale.asReference(clazz);
+	}
+
+	public boolean hasReference() {
+		return reference != null;
+	}
+
+	/**
+	 * Publishing the reference class object for readers of {@link #asReference(Class)}.<br>
+	 * Called by the writers after a reload, a save, a change of the reference class and the <b>check*</b> methods, so readers never deserialize the node.<br>
+	 * Each call creates a new object, not connected to the configuration node. The same object is returned to all readers, so it must not be modified.
+	 */
+	protected void publishReference(ConfigurationNode node, Class<? extends LocaleReference> type) {
+		referenceType = type;
+		if(node == null || type == null) {
+			reference = null;
+			return;
+		}
+		try {
+			reference = node.get(type);
+		} catch (SerializationException e) {
+			logger.error("Failed to create " + type.getSimpleName() + " for the locale " + locale + " of the plugin " + pluginID + ": " + e.getLocalizedMessage());
+		}
+	}
+
+	/**
+	 * Publishing the reference class object again from the current locale tree.<br>
+	 * Does nothing if no reference class is assigned. The previous object is kept if the node cannot be deserialized.
+	 */
+	protected void republishReference() {
+		Class<? extends LocaleReference> type = referenceType;
+		if(type != null) publishReference(getLocaleRootNode(), type);
+	}
+
+	/**
+	 * Assigning the default reference class of the plugin to this localization if it has no reference class yet.
+	 */
+	public void setDefaultReference() {
 		if(getType() == ConfigTypes.PROPERTIES) return;
 		Class<? extends LocaleReference> defaultReference = localeService.getDefaultReference(pluginID);
-		if(defaultReference == null || asReference(defaultReference) != null) return;
+		if(defaultReference == null || hasReference()) return;
 		try {
 			setLocaleReference(defaultReference);
 			if(!path.toFile().exists() || !getLocaleRootNode().empty()) saveLocaleNode();
@@ -181,34 +498,41 @@ public abstract class AbstractLocale implements PluginLocale {
 	}
 
 	protected boolean addIfNotExist(Object localeConfig, Object... path) throws SerializationException {
-		Field[] fields = localeConfig.getClass().getDeclaredFields();
+		return addIfNotExist(getLocaleRootNode(), localeConfig, path);
+	}
+
+	private boolean addIfNotExist(ConfigurationNode root, Object localeConfig, Object[] path) throws SerializationException {
 		boolean result = false;
-		for(Field field : fields) if(field.isAnnotationPresent(Setting.class)) {
-			field.setAccessible(true);
-			String key = field.getAnnotation(Setting.class).value();
-			Object found = getGenericObject(localeConfig, field);
-			if(found != null) {
-				Object[] nextPath = ArrayUtils.add(path, key);
-				if(result |= getLocaleRootNode().node(nextPath).virtual()) {
-					getLocaleRootNode().node(nextPath).set(found);
-				} else result |= addIfNotExist(found, nextPath);
-				found = null;
-				nextPath = null;
-			}
-			key = null;
+		for(ReferenceFields.Accessor accessor : ReferenceFields.of(localeConfig.getClass())) {
+			Object found = accessor.get(localeConfig);
+			if(found == null) continue;
+			Object[] nextPath = ArrayUtils.add(path, accessor.key());
+			ConfigurationNode node = root.node(nextPath);
+			if(node.virtual()) {
+				node.set(found);
+				result = true;
+			} else result |= addIfNotExist(root, found, nextPath);
 		}
-		fields = null;
 		return result;
 	}
 
-	@SuppressWarnings("unchecked")
-	private <T> T getGenericObject(Object source, Field field) {
-		try {
-			return (T) field.get(source);
-		} catch (IllegalArgumentException | IllegalAccessException e) {
-			e.printStackTrace();
+	protected enum NodeKind {
+
+		VIRTUAL,
+		SCALAR,
+		LIST,
+		MAP;
+
+		static NodeKind of(ConfigurationNode node) {
+			if(node.virtual()) return VIRTUAL;
+			if(node.empty()) return SCALAR;
+			return node.isList() ? LIST : (node.isMap() ? MAP : SCALAR);
 		}
-		return null;
+
 	}
 
-}
\ No newline at end of file
+	protected record ResolvedNode(ConfigurationNode node, NodeKind kind) {}
+
+	private record Pinned(long generation, PinnedText text) {}
+
+}
@@ -0,0 +1,167 @@
+package sawfowl.localeapi.apiclasses;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.spongepowered.api.adventure.SpongeComponents;
+import org.spongepowered.api.command.CommandCause;
+
+import net.kyori.adventure.text.event.ClickEvent;
+
+import sawfowl.localeapi.api.ClickCallback;
+import sawfowl.localeapi.api.ClickCallbacks;
+
+/**
+ * Registry of the shared click callbacks.<br>
+ * Expired callbacks are removed on access and by {@link #expire()}.
+ */
+public final class ClickCallbackRegistry implements ClickCallbacks {
+
+	private static final ClickCallbackRegistry INSTANCE = new ClickCallbackRegistry();
+
+	private final Map<String, Entry<?>> callbacks = new ConcurrentHashMap<String, Entry<?>>();
+
+	public static ClickCallbackRegistry get() {
+		return INSTANCE;
+	}
+
+	@Override
+	public <T> ClickCallback<T> create(String id, BiConsumer<CommandCause, T> action, Duration ttl, boolean singleUse) {
+		return create(id, action, action, ttl, singleUse);
+	}
+
+	@Override
+	public ClickCallback<Void> create(String id, Consumer<CommandCause> action, Duration ttl, boolean singleUse) {
+		return create(id, (BiConsumer<CommandCause, Void>) (cause, value) -> action.accept(cause), action, ttl, singleUse);
+	}
+
+	/**
+	 * @param source - Action passed by the caller. Its class is compared when the callback is created again.<br>
+	 * A lambda has one class per place in the code, so a capturing lambda created again at the same place matches the live callback.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> ClickCallback<T> create(String id, BiConsumer<CommandCause, T> action, Object source, Duration ttl, boolean singleUse) {
+		Instant expiresAt = ttl == null ? null : Instant.now().plus(ttl);
+		return (ClickCallback<T>) callbacks.compute(id, (key, entry) -> {
+			if(entry == null || entry.isExpired()) return new Entry<T>(id, action, source, expiresAt, singleUse);
+			// A different action may expect another type of the bound values, so returning the entry could fail with ClassCastException on click.
+			if(entry.source.getClass() != source.getClass() || entry.singleUse != singleUse) throw new IllegalStateException("Click callback '" + id + "' is already registered with a different action or single use flag.");
+			return entry;
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> Optional<ClickCallback<T>> get(String id) {
+		Entry<?> entry = callbacks.get(id);
+		if(entry != null && entry.isExpired()) {
+			callbacks.remove(id, entry);
+			entry = null;
+		}
+		return Optional.ofNullable((ClickCallback<T>) entry);
+	}
+
+	@Override
+	public boolean remove(String id) {
+		Entry<?> entry = callbacks.remove(id);
+		return entry != null && !entry.isExpired();
+	}
+
+	@Override
+	public int getLiveCount() {
+		expire();
+		return callbacks.size();
+	}
+
+	/**
+	 * Removing the expired callbacks.
+	 */
+	public void expire() {
+		callbacks.values().removeIf(Entry::isExpired);
+	}
+
+	private class Entry<T> implements ClickCallback<T> {
+
+		private final String id;
+		private final BiConsumer<CommandCause, T> action;
+		private final Object source;
+		private final Instant expiresAt;
+		private final boolean singleUse;
+		private final ClickEvent clickEvent;
+		private final Map<String, T> bound = new ConcurrentHashMap<String, T>();
+		private final Set<String> used = ConcurrentHashMap.newKeySet();
+
+		Entry(String id, BiConsumer<CommandCause, T> action, Object source, Instant expiresAt, boolean singleUse) {
+			this.id = id;
+			this.action = action;
+			this.source = source;
+			this.expiresAt = expiresAt;
+			this.singleUse = singleUse;
+			clickEvent = SpongeComponents.executeCallback(this::run);
+		}
+
+		private void run(CommandCause cause) {
+			if(callbacks.get(id) != this) return;
+			if(isExpired()) {
+				callbacks.remove(id, this);
+				return;
+			}
+			String clicker = cause.subject().identifier();
+			if(singleUse && !used.add(clicker)) return;
+			action.accept(cause, singleUse ? bound.remove(clicker) : bound.get(clicker));
+		}
+
+		@Override
+		public String id() {
+			return id;
+		}
+
+		@Override
+		public ClickEvent clickEvent() {
+			return clickEvent;
+		}
+
+		@Override
+		public ClickCallback<T> bind(UUID player, T value) {
+			if(value == null) {
+				bound.remove(player.toString());
+			} else bound.put(player.toString(), value);
+			return this;
+		}
+
+		@Override
+		public ClickCallback<T> unbind(UUID player) {
+			bound.remove(player.toString());
+			return this;
+		}
+
+		@Override
+		public Instant expiresAt() {
+			return expiresAt;
+		}
+
+		@Override
+		public boolean isExpired() {
+			return expiresAt != null && Instant.now().isAfter(expiresAt);
+		}
+
+		@Override
+		public boolean isSingleUse() {
+			return singleUse;
+		}
+
+		@Override
+		public void remove() {
+			callbacks.remove(id, this);
+		}
+
+	}
+
+}
@@ -0,0 +1,301 @@
+package sawfowl.localeapi.apiclasses;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import net.kyori.adventure.text.Component;
+
+import sawfowl.localeapi.apiclasses.CompactStringPool.Pooled;
+
+/**
+ * Read-only flattened copy of a locale tree.<br>
+ * Keys are stored in a sorted array, values are the entries of the {@link CompactStringPool} shared by all locales of the plugin.<br>
+ * Scalar values and lists of scalars are flattened. Maps in the Json component format and lists of maps are kept as detached copies of their nodes.
+ * The paths of other maps are remembered, so any path of the locale tree can be answered without the configuration node.
+ */
+public final class CompactLocaleStorage {
+
+	private static final char SEPARATOR = '\u001F';
+	private static final long NODE_BYTES = 120;
+	private static final Set<String> COMPONENT_KEYS = Set.of("text", "translate", "extra", "keybind", "score", "selector", "nbt");
+
+	private final CompactStringPool pool;
+	private final String[] keys;
+	private final int[] offsets;
+	private final Pooled[] values;
+	// Keeps the pooled keys alive, so the same keys of other locales keep sharing them.
+	private final Pooled[] names;
+	private final boolean[] lists;
+	private final Map<String, ConfigurationNode> subtrees;
+	private final String[] maps;
+	private final long nodeBytes;
+	private final long subtreeBytes;
+
+	private CompactLocaleStorage(CompactStringPool pool, String[] keys, int[] offsets, Pooled[] values, Pooled[] names, boolean[] lists, Map<String, ConfigurationNode> subtrees, String[] maps, long nodeBytes, long subtreeBytes) {
+		this.pool = pool;
+		this.keys = keys;
+		this.offsets = offsets;
+		this.values = values;
+		this.names = names;
+		this.lists = lists;
+		this.subtrees = subtrees;
+		this.maps = maps;
+		this.nodeBytes = nodeBytes;
+		this.subtreeBytes = subtreeBytes;
+	}
+
+	/**
+	 * Flattening the locale tree into a new storage.
+	 * 
+	 * @param pool - Pool of the plugin. Values no longer used by any storage are released from it after a reload.
+	 */
+	public static CompactLocaleStorage flatten(ConfigurationNode root, CompactStringPool pool) {
+		Map<String, Pooled[]> entries = new TreeMap<String, Pooled[]>();
+		Set<String> listKeys = new HashSet<String>();
+		Map<String, ConfigurationNode> subtrees = new HashMap<String, ConfigurationNode>();
+		Set<String> maps = new TreeSet<String>();
+		long[] subtreeBytes = new long[1];
+		long nodeBytes = flatten(root, "", entries, listKeys, subtrees, maps, subtreeBytes, pool);
+		String[] keys = new String[entries.size()];
+		int[] offsets = new int[entries.size() + 1];
+		boolean[] lists = new boolean[entries.size()];
+		int total = 0;
+		for(Pooled[] value : entries.values()) total += value.length;
+		Pooled[] values = new Pooled[total];
+		Pooled[] names = new Pooled[entries.size() + subtrees.size() + maps.size()];
+		int i = 0;
+		int offset = 0;
+		for(Entry<String, Pooled[]> entry : entries.entrySet()) {
+			names[i] = pool.intern(entry.getKey());
+			keys[i] = names[i].get();
+			lists[i] = listKeys.contains(entry.getKey());
+			offsets[i] = offset;
+			System.arraycopy(entry.getValue(), 0, values, offset, entry.getValue().length);
+			offset += entry.getValue().length;
+			i++;
+		}
+		offsets[i] = offset;
+		Map<String, ConfigurationNode> detached = new HashMap<String, ConfigurationNode>();
+		for(Entry<String, ConfigurationNode> entry : subtrees.entrySet()) {
+			names[i] = pool.intern(entry.getKey());
+			detached.put(names[i++].get(), entry.getValue());
+		}
+		String[] mapKeys = new String[maps.size()];
+		int m = 0;
+		for(String key : maps) {
+			names[i] = pool.intern(key);
+			mapKeys[m++] = names[i++].get();
+		}
+		return new CompactLocaleStorage(pool, keys, offsets, values, names, lists, detached, mapKeys, nodeBytes, subtreeBytes[0]);
+	}
+
+	/**
+	 * Checking for the existence of a path in the locale tree.
+	 */
+	public boolean contains(Object... path) {
+		String key = toKey(path);
+		return Arrays.binarySearch(keys, key) >= 0 || subtrees.containsKey(key) || Arrays.binarySearch(maps, key) >= 0;
+	}
+
+	/**
+	 * Equivalent of {@link ConfigurationNode#empty()} for the node at the path.
+	 */
+	public boolean isEmpty(Object... path) {
+		String key = toKey(path);
+		int index = Arrays.binarySearch(keys, key);
+		if(index >= 0) return lists[index] && offsets[index + 1] == offsets[index];
+		ConfigurationNode subtree = subtrees.get(key);
+		if(subtree != null) return subtree.empty();
+		return Arrays.binarySearch(maps, key) < 0;
+	}
+
+	/**
+	 * Getting a detached node with the value at the path.<br>
+	 * The node is created from the flattened value or is a copy of the kept subtree. Changes of the node are not saved.
+	 * 
+	 * @return null if the path is not present in the locale tree.
+	 */
+	public ConfigurationNode getNode(Object... path) {
+		String key = toKey(path);
+		int index = Arrays.binarySearch(keys, key);
+		if(index >= 0) {
+			try {
+				return lists[index] ? BasicConfigurationNode.root().setList(String.class, getListStrings(path)) : BasicConfigurationNode.root().raw(values[offsets[index]].get());
+			} catch (SerializationException e) {
+				return null;
+			}
+		}
+		ConfigurationNode subtree = subtrees.get(key);
+		if(subtree != null) return subtree;
+		return Arrays.binarySearch(maps, key) >= 0 ? BasicConfigurationNode.root() : null;
+	}
+
+	/**
+	 * @return null if the path is not present in the storage or points to a list.
+	 */
+	public String getString(Object... path) {
+		int index = find(path);
+		return index < 0 || lists[index] ? null : values[offsets[index]].get();
+	}
+
+	/**
+	 * @return null if the path is not present in the storage or points to a list.
+	 */
+	public Component getComponent(Object... path) {
+		int index = find(path);
+		return index < 0 || lists[index] ? null : values[offsets[index]].getComponent();
+	}
+
+	/**
+	 * @return null if the path is not present in the storage.
+	 */
+	public List<String> getListStrings(Object... path) {
+		int index = find(path);
+		if(index < 0) return null;
+		int from = offsets[index];
+		int size = offsets[index + 1] - from;
+		return new AbstractList<String>() {
+			@Override
+			public String get(int i) {
+				return values[from + checkIndex(i, size)].get();
+			}
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	/**
+	 * @return null if the path is not present in the storage.
+	 */
+	public List<Component> getListComponents(Object... path) {
+		int index = find(path);
+		if(index < 0) return null;
+		int from = offsets[index];
+		int size = offsets[index + 1] - from;
+		return new AbstractList<Component>() {
+			@Override
+			public Component get(int i) {
+				return values[from + checkIndex(i, size)].getComponent();
+			}
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	public boolean isList(Object... path) {
+		int index = find(path);
+		return index >= 0 && lists[index];
+	}
+
+	public int size() {
+		return keys.length + subtrees.size();
+	}
+
+	public CompactStringPool getPool() {
+		return pool;
+	}
+
+	/**
+	 * Approximate memory used by the configuration tree from which this storage was created, in bytes.
+	 */
+	public long estimatedNodeBytes() {
+		return nodeBytes;
+	}
+
+	/**
+	 * Approximate memory used by this storage and the kept subtrees, in bytes.<br>
+	 * The pool is shared by the locales of the plugin and is not included, see {@link CompactStringPool#estimatedBytes()}.
+	 */
+	public long estimatedBytes() {
+		return 16 * 11 + (long) keys.length * (8 + 4 + 1) + 4 + (long) values.length * 8 + (long) names.length * 8 + (long) maps.length * 8 + subtreeBytes;
+	}
+
+	private int find(Object... path) {
+		return Arrays.binarySearch(keys, toKey(path));
+	}
+
+	private static String toKey(Object... path) {
+		if(path.length == 1) return String.valueOf(path[0]);
+		StringBuilder builder = new StringBuilder();
+		for(int i = 0; i < path.length; i++) {
+			if(i > 0) builder.append(SEPARATOR);
+			builder.append(path[i]);
+		}
+		return builder.toString();
+	}
+
+	private static long flatten(ConfigurationNode node, String key, Map<String, Pooled[]> entries, Set<String> listKeys, Map<String, ConfigurationNode> subtrees, Set<String> maps, long[] subtreeBytes, CompactStringPool pool) {
+		long bytes = NODE_BYTES + CompactStringPool.estimateBytes(key);
+		if(node.isMap()) {
+			if(!key.isEmpty() && node.childrenMap().keySet().stream().anyMatch(child -> COMPONENT_KEYS.contains(String.valueOf(child)))) {
+				long size = estimateNodeBytes(node);
+				subtrees.put(key, node.copy());
+				subtreeBytes[0] += size;
+				return bytes + size;
+			}
+			if(!key.isEmpty() && !node.empty()) maps.add(key);
+			for(Entry<Object, ? extends ConfigurationNode> entry : node.childrenMap().entrySet()) bytes += flatten(entry.getValue(), key.isEmpty() ? String.valueOf(entry.getKey()) : key + SEPARATOR + entry.getKey(), entries, listKeys, subtrees, maps, subtreeBytes, pool);
+		} else if(node.isList()) {
+			List<? extends ConfigurationNode> children = node.childrenList();
+			Pooled[] list = new Pooled[children.size()];
+			boolean scalars = true;
+			for(int i = 0; i < list.length; i++) {
+				ConfigurationNode child = children.get(i);
+				bytes += NODE_BYTES;
+				if(child.isMap() || child.isList() || child.virtual()) {
+					scalars = false;
+					continue;
+				}
+				String value = child.getString("");
+				bytes += CompactStringPool.estimateBytes(value);
+				list[i] = pool.intern(value);
+			}
+			if(key.isEmpty()) return bytes;
+			if(scalars) {
+				entries.put(key, list);
+				listKeys.add(key);
+			} else {
+				long size = estimateNodeBytes(node);
+				subtrees.put(key, node.copy());
+				subtreeBytes[0] += size;
+			}
+		} else if(node.raw() != null && !key.isEmpty()) {
+			String value = node.getString("");
+			bytes += CompactStringPool.estimateBytes(value);
+			entries.put(key, new Pooled[] {pool.intern(value)});
+		}
+		return bytes;
+	}
+
+	private static long estimateNodeBytes(ConfigurationNode node) {
+		long bytes = NODE_BYTES;
+		if(node.isMap()) {
+			for(ConfigurationNode child : node.childrenMap().values()) bytes += estimateNodeBytes(child);
+		} else if(node.isList()) {
+			for(ConfigurationNode child : node.childrenList()) bytes += estimateNodeBytes(child);
+		} else bytes += CompactStringPool.estimateBytes(node.getString());
+		return bytes;
+	}
+
+	private static int checkIndex(int index, int size) {
+		if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		return index;
+	}
+
+}
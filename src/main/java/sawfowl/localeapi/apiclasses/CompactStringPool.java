@@ -0,0 +1,126 @@
+package sawfowl.localeapi.apiclasses;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.kyori.adventure.text.Component;
+
+import sawfowl.localeapi.api.TextUtils;
+
+/**
+ * Deduplicated string storage of the compact locales of one plugin.<br>
+ * Identical values and keys of all locales of the plugin are stored once, and the {@link Component} created from such a value is shared by reference.
+ * This covers brand names and untranslated copies of the default locale.<br>
+ * The pool holds its values through weak references, so a value is released when no storage of the plugin uses it after a reload.
+ */
+public final class CompactStringPool {
+
+	private static final Map<String, CompactStringPool> POOLS = new ConcurrentHashMap<String, CompactStringPool>();
+
+	private final Map<String, WeakEntry> entries = new ConcurrentHashMap<String, WeakEntry>();
+	private final ReferenceQueue<Pooled> queue = new ReferenceQueue<Pooled>();
+
+	/**
+	 * Getting the pool shared by all locales of the plugin.
+	 */
+	public static CompactStringPool forPlugin(String pluginID) {
+		return POOLS.computeIfAbsent(pluginID, id -> new CompactStringPool());
+	}
+
+	/**
+	 * Adding a string to the pool.<br>
+	 * The returned value must be kept by the caller, the pool does not prevent it from being released.
+	 */
+	public Pooled intern(String string) {
+		expunge();
+		WeakEntry entry = entries.get(string);
+		Pooled pooled = entry == null ? null : entry.get();
+		if(pooled != null) return pooled;
+		Pooled[] result = new Pooled[1];
+		entries.compute(string, (key, current) -> {
+			Pooled existing = current == null ? null : current.get();
+			if(existing != null) {
+				result[0] = existing;
+				return current;
+			}
+			result[0] = new Pooled(key);
+			return new WeakEntry(result[0], queue);
+		});
+		return result[0];
+	}
+
+	/**
+	 * Number of the values used by at least one storage.
+	 */
+	public int size() {
+		expunge();
+		int size = 0;
+		for(WeakEntry entry : entries.values()) if(entry.get() != null) size++;
+		return size;
+	}
+
+	/**
+	 * Approximate memory used by the pool, in bytes.
+	 */
+	public long estimatedBytes() {
+		expunge();
+		long bytes = 64;
+		for(WeakEntry entry : entries.values()) {
+			Pooled pooled = entry.get();
+			if(pooled != null) bytes += estimateBytes(pooled.value) + 48 + 32 + 32;
+		}
+		return bytes;
+	}
+
+	static long estimateBytes(String string) {
+		return string == null ? 0 : 40 + (long) string.length() * 2;
+	}
+
+	private void expunge() {
+		Reference<? extends Pooled> reference;
+		while((reference = queue.poll()) != null) {
+			WeakEntry entry = (WeakEntry) reference;
+			entries.remove(entry.key, entry);
+		}
+	}
+
+	/**
+	 * Pooled string and the {@link Component} deserialized from it on the first request.<br>
+	 * The storages keep strong references to it, the pool only a weak one.
+	 */
+	public static final class Pooled {
+
+		private final String value;
+		private volatile Component component;
+
+		private Pooled(String value) {
+			this.value = value;
+		}
+
+		public String get() {
+			return value;
+		}
+
+		public Component getComponent() {
+			Component result = component;
+			if(result == null) component = result = TextUtils.deserialize(value);
+			return result;
+		}
+
+	}
+
+	private static final class WeakEntry extends WeakReference<Pooled> {
+
+		private final String key;
+
+		WeakEntry(Pooled pooled, ReferenceQueue<Pooled> queue) {
+			super(pooled, queue);
+			key = pooled.value;
+		}
+
+	}
+
+}
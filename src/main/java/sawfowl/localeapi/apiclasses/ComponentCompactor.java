@@ -0,0 +1,74 @@
+package sawfowl.localeapi.apiclasses;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+
+/**
+ * Compacting the components returned by {@link sawfowl.localeapi.api.Text#get()}.<br>
+ * Adjacent text nodes with the same style are merged, empty nodes are removed and wrappers without their own style are flattened.<br>
+ * The Json size before and after is measured on every {@value #SAMPLE_RATE}th compaction, so the measurement does not add the cost of serialization to every message.<br>
+ * The setting is shared by all plugins on the server.
+ */
+public final class ComponentCompactor {
+
+	public static final int SAMPLE_RATE = 64;
+
+	private static volatile boolean enabled = false;
+	private static final LongAdder compactions = new LongAdder();
+	private static final LongAdder samples = new LongAdder();
+	private static final LongAdder sizeBefore = new LongAdder();
+	private static final LongAdder sizeAfter = new LongAdder();
+
+	private ComponentCompactor() {}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean enabled) {
+		ComponentCompactor.enabled = enabled;
+	}
+
+	public static Component compact(Component component) {
+		if(component.children().isEmpty() && component.style().isEmpty()) return component;
+		Component compacted = component.compact();
+		compactions.increment();
+		if(compactions.sum() % SAMPLE_RATE == 0) {
+			samples.increment();
+			sizeBefore.add(GsonComponentSerializer.gson().serialize(component).length());
+			sizeAfter.add(GsonComponentSerializer.gson().serialize(compacted).length());
+		}
+		return compacted;
+	}
+
+	public static long getCompactions() {
+		return compactions.sum();
+	}
+
+	public static long getSamples() {
+		return samples.sum();
+	}
+
+	/**
+	 * Total Json length of the sampled components before compaction.
+	 */
+	public static long getSizeBefore() {
+		return sizeBefore.sum();
+	}
+
+	/**
+	 * Total Json length of the sampled components after compaction.
+	 */
+	public static long getSizeAfter() {
+		return sizeAfter.sum();
+	}
+
+	public static String getReport() {
+		long before = getSizeBefore();
+		long after = getSizeAfter();
+		return "Component compaction " + (enabled ? "enabled" : "disabled") + ": " + getCompactions() + " compacted, " + getSamples() + " sampled, Json " + before + " -> " + after + " chars" + (before == 0 ? "" : " (" + (100 - after * 100 / before) + "% saved)");
+	}
+
+}
@@ -15,6 +15,7 @@ import sawfowl.localeapi.api.LocaleReference;
 import sawfowl.localeapi.api.LocaleService;
 import sawfowl.localeapi.api.Logger;
 import sawfowl.localeapi.api.serializetools.SerializeOptions;
+import sawfowl.localeapi.utils.WriteBehindSaver;
 
 public class HoconLocale extends AbstractLocale {
 
@@ -22,9 +23,10 @@ public class HoconLocale extends AbstractLocale {
 	private ConfigurationReference<CommentedConfigurationNode> configurationReference;
 	private ValueReference<LocaleReference, CommentedConfigurationNode> localeReference;
 	private CommentedConfigurationNode localeNode;
+	private final SaveLoader saveLoader = new SaveLoader((variant, sink) -> SerializeOptions.createHoconConfigurationLoader(variant).sink(sink).build());
 	public HoconLocale(LocaleService localeService, Logger logger, Path path, String pluginID, String locale) {
 		super(localeService, logger, path, pluginID, locale);
-		configLoader = SerializeOptions.createHoconConfigurationLoader(localeService.getItemStackSerializerVariant(pluginID)).path(this.path).build();
+		configLoader = SerializeOptions.getHoconConfigurationLoader(pluginID, localeService.getItemStackSerializerVariant(pluginID), this.path);
 		reload();
 	}
 
@@ -38,35 +40,49 @@ public class HoconLocale extends AbstractLocale {
 		getLocaleNode(path).comment(comment);
 	}
 
+	@Override
+	boolean releaseLocaleNode() {
+		if(localeReference != null) return false;
+		localeNode = null;
+		return true;
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public void reload() {
+		long start = System.nanoTime();
+		WriteBehindSaver.get().flush(path);
 		try {
 			localeNode = configLoader.load();
 			if(localeReference != null && configurationReference != null) localeReference = (ValueReference<LocaleReference, CommentedConfigurationNode>) (configurationReference = configLoader.loadToReference()).referenceTo(localeReference.get().getClass());
 		} catch (IOException e) {
 			logger.error(e.getMessage());
 		}
+		updateCompactStorage();
+		republishReference();
+		LocaleMetricsRegistry.get().reload(System.nanoTime() - start);
 	}
 
 	@Override
 	public void saveLocaleNode() {
-		try {
-			if(localeReference != null && configurationReference != null) {
-				configurationReference.save();
-			} else configLoader.save(localeNode);
-		} catch (IOException e) {
-			logger.error(e.getMessage());
-		}
+		if(localeNode == null && localeReference == null) return;
+		invalidateNodeCache();
+		CommentedConfigurationNode snapshot = getLocaleRootNode().copy();
+		WriteBehindSaver.get().save(path, temp -> saveLoader.save(localeService.getItemStackSerializerVariant(pluginID), temp, snapshot), logger);
+		if(localeService.isCompactStorage(pluginID)) updateCompactStorage();
+		republishReference();
 	}
 
 	@Override
 	public CommentedConfigurationNode getLocaleRootNode() {
-		return localeReference == null ? localeNode : localeReference.node();
+		if(localeReference != null) return localeReference.node();
+		if(localeNode == null) restoreLocaleNode();
+		return localeNode;
 	}
 
 	@Override
 	public CommentedConfigurationNode getLocaleNode(Object... path) {
+		clearResolvedNodes();
 		return getLocaleRootNode().node(path);
 	}
 
@@ -74,31 +90,38 @@ public class HoconLocale extends AbstractLocale {
 	@Override
 	public <T extends LocaleReference> void setLocaleReference(Class<T> reference) throws SerializationException, ConfigurateException {
 		if(reference == null) return;
-		if(configLoader == null) configLoader = SerializeOptions.createHoconConfigurationLoader(localeService.getItemStackSerializerVariant(pluginID)).path(this.path).build();
+		if(configLoader == null) configLoader = SerializeOptions.getHoconConfigurationLoader(pluginID, localeService.getItemStackSerializerVariant(pluginID), this.path);
 		localeReference = (ValueReference<LocaleReference, CommentedConfigurationNode>) (configurationReference = configLoader.loadToReference()).referenceTo(reference);
 		if(localeNode != null && !localeNode.empty()) localeReference.node().from(localeNode);
 		localeNode = localeReference.node();
-		if(addIfNotExist(asReference(reference), new Object[] {})) configLoader.save(localeNode);
+		invalidateNodeCache();
+		publishReference(localeReference.node(), reference);
+		if(addIfNotExist(localeReference.get(), new Object[] {})) saveLocaleNode();
 	}
 
 	@Override
 	public <T extends LocaleReference> void setLocaleReference(T reference) throws SerializationException, ConfigurateException {
 		setLocaleReference(reference.getClass());
-		localeReference.setAndSave(reference);
+		localeReference.set(reference);
 		localeNode = localeReference.node();
-		if(addIfNotExist(reference, new Object[] {})) configLoader.save(localeNode);
+		addIfNotExist(reference, new Object[] {});
+		saveLocaleNode();
 	}
 
-	@SuppressWarnings("unchecked")
-	@Override
-	public <T extends LocaleReference> T asReference(Class<T> clazz) {
-		if(localeReference == null)
-			try {
-				setLocaleReference(localeService.getDefaultReference(pluginID));
-			} catch (ConfigurateException e) {
-				e.printStackTrace();
-			}
-		return localeReference == null ? (thisIsDefault ? null : getDefaultLocale().asReference(clazz)) : (T) localeReference.get();
+	/**
+	 * Restoring the configuration tree released to the compact storage. Called only when the tree is requested for changes.<br>
+	 * The compact storage is used again after the next save or reload.
+	 */
+	private void restoreLocaleNode() {
+		WriteBehindSaver.get().flush(path);
+		try {
+			localeNode = configLoader.load();
+		} catch (IOException e) {
+			logger.error(e.getMessage());
+			localeNode = configLoader.createNode();
+		}
+		compactStorage = null;
+		clearResolvedNodes();
 	}
 
 }
\ No newline at end of file
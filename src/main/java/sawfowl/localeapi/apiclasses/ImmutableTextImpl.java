@@ -0,0 +1,170 @@
+package sawfowl.localeapi.apiclasses;
+
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.NotNull;
+
+import org.spongepowered.api.adventure.SpongeComponents;
+import org.spongepowered.api.command.CommandCause;
+import org.spongepowered.api.data.persistence.DataContainer;
+import org.spongepowered.api.data.persistence.DataQuery;
+import org.spongepowered.api.data.persistence.Queries;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import sawfowl.localeapi.api.ClickCallback;
+import sawfowl.localeapi.api.Text;
+import sawfowl.localeapi.api.TextUtils;
+
+/**
+ * {@link Text} which is never changed. Each operation returns a new object, and the unchanged parts of the component are shared.<br>
+ * The object can be cached and used from several threads at the same time.
+ */
+public final class ImmutableTextImpl implements Text {
+
+	private final Component component;
+	private volatile Component compacted;
+
+	public ImmutableTextImpl(Component component) {
+		this.component = component == null ? Component.empty() : component;
+	}
+
+	/**
+	 * @param component - Component of the text returned by {@link Text.Builder#build()}.
+	 */
+	public static Text.Builder builder(Component component) {
+		return new Text.Builder() {
+			@Override
+			public @NotNull Text build() {
+				return new ImmutableTextImpl(component);
+			}
+			@Override
+			public Text fromString(String string) {
+				return fromComponent(TextUtils.deserialize(string == null ? "" : string));
+			}
+			@Override
+			public Text fromComponent(Component component) {
+				return new ImmutableTextImpl(component);
+			}
+			@Override
+			public Text.Builder immutable() {
+				return this;
+			}
+		};
+	}
+
+	@Override
+	public int contentVersion() {
+		return 0;
+	}
+
+	@Override
+	public DataContainer toContainer() {
+		return DataContainer.createNew()
+				.set(Queries.CONTENT_VERSION, contentVersion())
+				.set(DataQuery.of("Component"), component);
+	}
+
+	@Override
+	public Component get() {
+		if(!ComponentCompactor.isEnabled()) return component;
+		Component result = compacted;
+		if(result == null) compacted = result = ComponentCompactor.compact(component);
+		return result;
+	}
+
+	@Override
+	public String toPlain() {
+		return PlainTextComponentSerializer.plainText().serialize(component);
+	}
+
+	@Override
+	public Text append(Component component) {
+		return new ImmutableTextImpl(this.component.append(component));
+	}
+
+	@Override
+	public Text append(Text text) {
+		return append(text.get());
+	}
+
+	@Override
+	public Text replace(String key, Component value) {
+		return with(replaceText(component, key, value));
+	}
+
+	@Override
+	public Text replace(String key, Text value) {
+		return replace(key, value.get());
+	}
+
+	@Override
+	public Text replace(String key, String value) {
+		return replace(key, TextUtils.deserialize(value));
+	}
+
+	@Override
+	public Text replace(String key, Object value) {
+		return replace(key, value.toString());
+	}
+
+	@Override
+	public Text replace(String[] keys, String... values) {
+		Component result = component;
+		for(int i = 0; i < keys.length; i++) result = replaceText(result, keys[i], TextUtils.deserialize(values.length > i ? values[i] : ""));
+		return with(result);
+	}
+
+	@Override
+	public Text replace(String[] keys, Object... values) {
+		Component result = component;
+		for(int i = 0; i < keys.length; i++) result = replaceText(result, keys[i], TextUtils.deserialize(values.length > i ? values[i].toString() : ""));
+		return with(result);
+	}
+
+	@Override
+	public Text replace(String[] keys, Component... values) {
+		Component result = component;
+		for(int i = 0; i < keys.length; i++) result = replaceText(result, keys[i], values.length > i ? values[i] : Component.empty());
+		return with(result);
+	}
+
+	@Override
+	public Text replace(String[] keys, Text... values) {
+		Component result = component;
+		for(int i = 0; i < keys.length; i++) result = replaceText(result, keys[i], values.length > i ? values[i].get() : Component.empty());
+		return with(result);
+	}
+
+	@Override
+	public Text createCallBack(Runnable runnable) {
+		return createCallBack(cause -> {
+			runnable.run();
+		});
+	}
+
+	@Override
+	public Text createCallBack(Consumer<CommandCause> callback) {
+		return new ImmutableTextImpl(component.clickEvent(SpongeComponents.executeCallback(callback)));
+	}
+
+	@Override
+	public Text createCallBack(ClickCallback<?> callback) {
+		return new ImmutableTextImpl(component.clickEvent(callback.clickEvent()));
+	}
+
+	@Override
+	public Text removeDecorations() {
+		return with(TextUtils.removeDecorations(component));
+	}
+
+	private Text with(Component result) {
+		return result == component ? this : new ImmutableTextImpl(result);
+	}
+
+	private static Component replaceText(Component component, String key, Component value) {
+		return component.replaceText(TextReplacementConfig.builder().match(key).replacement(value).build());
+	}
+
+}
@@ -1,15 +1,14 @@
 package sawfowl.localeapi.apiclasses;
 
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Properties;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
@@ -22,6 +21,7 @@ import sawfowl.localeapi.api.LocaleReference;
 import sawfowl.localeapi.api.LocaleService;
 import sawfowl.localeapi.api.Logger;
 import sawfowl.localeapi.api.TextUtils;
+import sawfowl.localeapi.utils.WriteBehindSaver;
 
 /**
  * Most likely, this is the final version of the class..  <br>
@@ -40,10 +40,10 @@ import sawfowl.localeapi.api.TextUtils;
  */
 public class LegacyLocale extends AbstractLocale {
 
-	private final Properties locale = new Properties();
-	private File localeFile;
+	private final Map<String, String> entries = new LinkedHashMap<String, String>();
+	private final Map<String, String> added = new ConcurrentHashMap<String, String>();
+	private volatile PropertiesSnapshot snapshot = PropertiesSnapshot.empty();
 	private String loc;
-	private FileWriter fileWriter;
 
 	public LegacyLocale(LocaleService localeService, Logger logger, Path path, String pluginID, String locale) {
 		super(localeService, logger, path, pluginID, locale);
@@ -63,23 +63,31 @@ public class LegacyLocale extends AbstractLocale {
 	@Override
 	void setComment(String comment, Object... path) {}
 
+	@Override
+	boolean releaseLocaleNode() {
+		return false;
+	}
+
 	@Override
 	public void reload() {
+		long start = System.nanoTime();
+		WriteBehindSaver.get().flush(path);
 		try {
 			init();
 		} catch (IOException e) {
 			logger.error(e.getMessage());
 		}
+		LocaleMetricsRegistry.get().reload(System.nanoTime() - start);
 	}
 
 	@Override
 	public void saveLocaleNode() {
-		try {
-			if(fileWriter == null) fileWriter = new FileWriter(localeFile);
-			locale.store(fileWriter, "");
-		} catch (IOException e) {
-			logger.error(e.getLocalizedMessage());
-		}
+		PropertiesSnapshot current = publishAdded();
+		WriteBehindSaver.get().save(path, temp -> {
+			try(Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+				current.store(writer);
+			}
+		}, logger);
 	}
 
 	@Override
@@ -96,143 +104,146 @@ public class LegacyLocale extends AbstractLocale {
 
 	@Override
 	public Component getComponent(Object... path) {
+		lookups.increment();
 		String key = getKey(path);
-		if(thisIsDefault && !containsKey(key)) return TextUtils.deserializeLegacy("&cPath " + getPathName(path) + "(PropertiesKey " + key + ") not exist!");
-		return !containsKey(key) && !thisIsDefault ? getDefaultLocale().getComponent(path) :  TextUtils.deserialize(getString(key));
+		if(containsKey(key)) return TextUtils.deserialize(getString(key));
+		AbstractLocale fallback = findFallback(path);
+		return fallback == null ? missing(path).getComponent() : fallback.getComponent(path);
 	}
 
 	@Override
 	public List<Component> getListComponents(Object... path) {
+		lookups.increment();
 		String key = getKey(path);
-		if(thisIsDefault && !containsKey(key)) return Arrays.asList(TextUtils.deserializeLegacy("Path " + getPathName(path) + "(PropertiesKey " + key + ") not exist!"));
-		return !containsKey(key) && !thisIsDefault ? getDefaultLocale().getListComponents(path) : getListStrings(key).stream().map(TextUtils::deserialize).toList();
+		if(containsKey(key)) return getListStrings(key).stream().map(TextUtils::deserialize).toList();
+		AbstractLocale fallback = findFallback(path);
+		return fallback == null ? missing(path).getComponents() : fallback.getListComponents(path);
 	}
 
 	@Override
 	public String getString(Object... path) {
+		lookups.increment();
 		String key = getKey(path);
-		if(thisIsDefault && !containsKey(key)) return "Path " + getPathName(path) + "(PropertiesKey " + key + ") not exist!";
-		return !containsKey(key) && !thisIsDefault ? getDefaultLocale().getString(path) : getString(key);
+		if(containsKey(key)) return getString(key);
+		AbstractLocale fallback = findFallback(path);
+		return fallback == null ? missing(path).getMessage() : fallback.getString(path);
 	}
 
 	@Override
 	public List<String> getListStrings(Object... path) {
+		lookups.increment();
 		String key = getKey(path);
-		if(thisIsDefault && !containsKey(key)) return Arrays.asList("Path " + getPathName(path) + "(PropertiesKey " + key + ") not exist!");
-		return !containsKey(key) && !thisIsDefault ? getDefaultLocale().getListStrings(path) : getListStrings(key);
+		if(containsKey(key)) return getListStrings(key);
+		AbstractLocale fallback = findFallback(path);
+		return fallback == null ? missing(path).getStrings() : fallback.getListStrings(path);
 	}
 
 	@Override
 	public boolean checkComponent(boolean json, Component component, String comment, Object... path) {
-		String key = getKey(path);
-		if(!containsKey(key)) {
-			locale.setProperty(key, json ? TextUtils.serializeJson(component) : TextUtils.serializeLegacy(component));
-			return true;
-		}
-		return false;
+		return putIfAbsent(path, json ? TextUtils.serializeJson(component) : TextUtils.serializeLegacy(component));
 	}
 
 	@Override
 	public boolean checkListComponents(boolean json, List<Component> components, String comment, Object... path) {
-		String key = getKey(path);
-		String value = "";
-		int componentsSize = components.size();
-		List<String> strings = json ? components.stream().map(TextUtils::serializeJson).toList() : components.stream().map(TextUtils::serializeLegacy).toList();
-		for(String string : strings) {
-			if(componentsSize > 1) {
-				value = value + string + "%LINE_SEPARATOR%";
-				componentsSize--;
-			} else {
-				value = value + string;
-			}
-		}
-		if(!containsKey(key)) {
-			locale.setProperty(key, value);
-			return true;
-		}
-		return false;
+		return putIfAbsent(path, PropertiesSnapshot.join(json ? components.stream().map(TextUtils::serializeJson).toList() : components.stream().map(TextUtils::serializeLegacy).toList()));
 	}
 
 	@Override
 	public boolean checkString(String string, String comment, Object... path) {
-		String key = getKey(path);
-		if(!containsKey(key)) {
-			locale.setProperty(key, string);
-			return true;
-		}
-		return false;
+		return putIfAbsent(path, string);
 	}
 
 	@Override
 	public boolean checkListStrings(List<String> strings, String comment, Object... path) {
-		String key = getKey(path);
-		String value = "";
-		int stringsSize = strings.size();
-		for(String string : strings) {
-			if(stringsSize > 1) {
-				value = value + string + "%LINE_SEPARATOR%";
-				stringsSize--;
-			} else {
-				value = value + string;
-			}
-		}
-		if(!containsKey(key)) {
-			locale.setProperty(key, value);
-			return true;
-		}
-		return false;
+		return putIfAbsent(path, PropertiesSnapshot.join(strings));
 	}
 
 	private void init() throws IOException {
-		this.locale.clear();
-		String loc = this.loc;
-		this.localeFile = path.toFile();
-		if (!localeFile.exists()) localeFile.createNewFile();
-		try (FileReader fr = new FileReader(this.localeFile)) {
-			this.locale.load(fr);
-		} catch (Exception ex) {
+		if(!Files.exists(path)) {
+			Files.createDirectories(path.getParent());
+			Files.createFile(path);
+		}
+		try {
+			PropertiesSnapshot loaded = PropertiesSnapshot.load(path);
+			synchronized(entries) {
+				entries.clear();
+				entries.putAll(loaded.values());
+				added.clear();
+				snapshot = loaded;
+			}
+			invalidateNodeCache();
+		} catch (IOException | IllegalArgumentException ex) {
 			logger.error("Failed to load " + loc + " locale!" + ex.getLocalizedMessage());
 		}
 	}
 
-	private List<String> getListStrings(final String key) {
-		String out = this.locale.getProperty(key);
-		if (out == null) {
-			logger.error("&cPropertiesKey \"" + key + "\" not found!");
-			return new ArrayList<String>();
+	/**
+	 * Publishing the values added by the <b>check*</b> methods since the last save or reload in a new snapshot.<br>
+	 * The snapshot is recreated and the caches of the plugin locales are cleared once for the whole batch.
+	 */
+	private PropertiesSnapshot publishAdded() {
+		PropertiesSnapshot current;
+		synchronized(entries) {
+			if(added.isEmpty()) return snapshot;
+			current = snapshot = PropertiesSnapshot.of(entries);
+			added.clear();
 		}
-		String spliter = "\n";
-		if(out.contains("%LINE_SEPARATOR%")) {
-			spliter = "%LINE_SEPARATOR%";
+		invalidateNodeCache();
+		return current;
+	}
+
+	/**
+	 * Adding the value without recreating the snapshot. Until the next save it is read from the added values.<br>
+	 * Only the caches of this locale are cleared for the path.
+	 */
+	private boolean putIfAbsent(Object[] path, String value) {
+		String key = getKey(path);
+		synchronized(entries) {
+			if(entries.containsKey(key)) return false;
+			entries.put(key, value);
+			added.put(key, value);
 		}
-		String[] subStr = out.split(spliter);
-		return Stream.of(subStr).toList();
+		invalidatePath(path);
+		return true;
+	}
+
+	/**
+	 * The added values are read before the snapshot, because the snapshot is replaced before they are cleared.
+	 */
+	private List<String> getListStrings(final String key) {
+		String value = added.get(key);
+		List<String> out = value != null ? PropertiesSnapshot.split(value) : snapshot.getList(key);
+		return out == null ? missing(key).getStrings() : out;
 	}
 
 	private String getString(final String key) {
-		String out = this.locale.getProperty(key);
-		if (out == null) {
-			return "&cPropertiesKey \"" + key + "\" not found!";
-		}
-		return out;
+		String out = added.get(key);
+		if(out == null) out = snapshot.get(key);
+		return out == null ? missing(key).getMessage() : out;
+	}
+
+	@Override
+	protected String getMissingMessage(Object... path) {
+		return "Path " + getPathName(path) + "(PropertiesKey " + getKey(path) + ") not exist!";
+	}
+
+	@Override
+	protected boolean containsPath(Object... path) {
+		return containsKey(getKey(path));
 	}
 
 	private boolean containsKey(String key) {
-		return locale.containsKey(key);
+		return added.containsKey(key) || snapshot.containsKey(key);
 	}
 
 	private String getKey(Object... path) {
-		/*String key = "";
-		int pathSize = path.length;
-		for(Object object : path) {
-			if(pathSize > 1) {
-				key = key + object + ".";
-				pathSize--;
-			} else {
-				key = key + object;
-			}
-		}*/
-		return String.join(".", Stream.of(path).map(Object::toString).toArray(String[]::new));
+		if(path.length == 1) return path[0].toString();
+		StringBuilder key = new StringBuilder();
+		for(int i = 0; i < path.length; i++) {
+			if(i > 0) key.append('.');
+			key.append(path[i]);
+		}
+		return key.toString();
 	}
 
 	@Override
@@ -0,0 +1,220 @@
+package sawfowl.localeapi.apiclasses;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import sawfowl.localeapi.api.LocaleMetrics;
+import sawfowl.localeapi.api.MissingKey;
+
+/**
+ * Collecting the counters of {@link LocaleMetrics}.<br>
+ * Counters are lock-free, so they can be updated from any thread on every lookup.
+ */
+public final class LocaleMetricsRegistry implements LocaleMetrics {
+
+	private static final LocaleMetricsRegistry INSTANCE = new LocaleMetricsRegistry();
+
+	private final Map<String, Map<String, LongAdder>> lookups = new ConcurrentHashMap<String, Map<String, LongAdder>>();
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
+	private final LongAdder reloads = new LongAdder();
+	private final LongAdder[] reloadBuckets = new LongAdder[RELOAD_BUCKETS_MS.length + 1];
+	private final Map<String, Timer> placeholders = new ConcurrentHashMap<String, Timer>();
+	private volatile IntSupplier watcherQueue = () -> 0;
+
+	private LocaleMetricsRegistry() {
+		for(int i = 0; i < reloadBuckets.length; i++) reloadBuckets[i] = new LongAdder();
+	}
+
+	public static LocaleMetricsRegistry get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Getting the lookup counter of the locale. The counter should be kept by the locale to avoid map lookups.
+	 */
+	public LongAdder lookupCounter(String pluginID, String locale) {
+		return lookups.computeIfAbsent(pluginID, id -> new ConcurrentHashMap<String, LongAdder>()).computeIfAbsent(locale, tag -> new LongAdder());
+	}
+
+	public void cacheHit() {
+		cacheHits.increment();
+	}
+
+	public void cacheMiss() {
+		cacheMisses.increment();
+	}
+
+	public void reload(long nanos) {
+		reloads.increment();
+		long millis = nanos / 1000000;
+		int bucket = 0;
+		while(bucket < RELOAD_BUCKETS_MS.length && millis > RELOAD_BUCKETS_MS[bucket]) bucket++;
+		reloadBuckets[bucket].increment();
+	}
+
+	public void placeholder(String id, long nanos) {
+		placeholders.computeIfAbsent(id, key -> new Timer()).add(nanos);
+	}
+
+	public void setWatcherQueue(IntSupplier watcherQueue) {
+		this.watcherQueue = watcherQueue;
+	}
+
+	@Override
+	public Map<String, Map<String, Long>> getLookups() {
+		Map<String, Map<String, Long>> result = new TreeMap<String, Map<String, Long>>();
+		lookups.forEach((plugin, locales) -> {
+			Map<String, Long> counts = new TreeMap<String, Long>();
+			locales.forEach((locale, count) -> counts.put(locale, count.sum()));
+			result.put(plugin, Collections.unmodifiableMap(counts));
+		});
+		return Collections.unmodifiableMap(result);
+	}
+
+	@Override
+	public long getLookups(String pluginID, String locale) {
+		Map<String, LongAdder> locales = lookups.get(pluginID);
+		LongAdder count = locales == null ? null : locales.get(locale);
+		return count == null ? 0 : count.sum();
+	}
+
+	@Override
+	public long getCacheHits() {
+		return cacheHits.sum();
+	}
+
+	@Override
+	public long getCacheMisses() {
+		return cacheMisses.sum();
+	}
+
+	@Override
+	public Map<String, Map<String, Long>> getMissingKeys() {
+		Map<String, Map<String, Long>> result = new TreeMap<String, Map<String, Long>>();
+		for(MissingKey key : MissingKeyRegistry.get().getMissingKeys()) result.computeIfAbsent(key.pluginID(), id -> new TreeMap<String, Long>()).merge(key.locale(), key.count(), Long::sum);
+		return Collections.unmodifiableMap(result);
+	}
+
+	@Override
+	public long getReloads() {
+		return reloads.sum();
+	}
+
+	@Override
+	public long[] getReloadLatencyHistogram() {
+		long[] histogram = new long[reloadBuckets.length];
+		for(int i = 0; i < histogram.length; i++) histogram[i] = reloadBuckets[i].sum();
+		return histogram;
+	}
+
+	@Override
+	public Map<String, PlaceholderTiming> getPlaceholderTimings() {
+		Map<String, PlaceholderTiming> result = new TreeMap<String, PlaceholderTiming>();
+		placeholders.forEach((id, timer) -> result.put(id, timer.snapshot()));
+		return Collections.unmodifiableMap(result);
+	}
+
+	@Override
+	public int getWatcherQueueDepth() {
+		return watcherQueue.getAsInt();
+	}
+
+	@Override
+	public String toJson() {
+		JsonObject json = new JsonObject();
+		json.addProperty("timestamp", System.currentTimeMillis());
+		json.add("lookups", toJson(getLookups()));
+		JsonObject cache = new JsonObject();
+		cache.addProperty("hits", getCacheHits());
+		cache.addProperty("misses", getCacheMisses());
+		cache.addProperty("hitRate", getCacheHitRate());
+		json.add("cache", cache);
+		json.add("missingKeys", toJson(getMissingKeys()));
+		JsonObject reload = new JsonObject();
+		reload.addProperty("count", getReloads());
+		JsonArray buckets = new JsonArray();
+		long[] histogram = getReloadLatencyHistogram();
+		for(int i = 0; i < histogram.length; i++) {
+			JsonObject bucket = new JsonObject();
+			bucket.addProperty("le", i < RELOAD_BUCKETS_MS.length ? String.valueOf(RELOAD_BUCKETS_MS[i]) : "+Inf");
+			bucket.addProperty("count", histogram[i]);
+			buckets.add(bucket);
+		}
+		reload.add("latencyMs", buckets);
+		json.add("reloads", reload);
+		JsonObject timings = new JsonObject();
+		getPlaceholderTimings().forEach((id, timing) -> {
+			JsonObject placeholder = new JsonObject();
+			placeholder.addProperty("calls", timing.calls());
+			placeholder.addProperty("totalNanos", timing.totalNanos());
+			placeholder.addProperty("maxNanos", timing.maxNanos());
+			placeholder.addProperty("averageNanos", timing.averageNanos());
+			timings.add(id, placeholder);
+		});
+		json.add("placeholders", timings);
+		json.addProperty("watcherQueueDepth", getWatcherQueueDepth());
+		json.addProperty("liveCallbacks", ClickCallbackRegistry.get().getLiveCount());
+		JsonObject compaction = new JsonObject();
+		compaction.addProperty("enabled", ComponentCompactor.isEnabled());
+		compaction.addProperty("compacted", ComponentCompactor.getCompactions());
+		compaction.addProperty("sampled", ComponentCompactor.getSamples());
+		compaction.addProperty("jsonCharsBefore", ComponentCompactor.getSizeBefore());
+		compaction.addProperty("jsonCharsAfter", ComponentCompactor.getSizeAfter());
+		json.add("compaction", compaction);
+		return new GsonBuilder().setPrettyPrinting().create().toJson(json);
+	}
+
+	/**
+	 * Writing the counters to the file. The file is replaced at once, so readers never see a partially written file.
+	 */
+	public void save(Path file) throws IOException {
+		if(file.getParent() != null) Files.createDirectories(file.getParent());
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		Files.writeString(temp, toJson(), StandardCharsets.UTF_8);
+		Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private JsonObject toJson(Map<String, Map<String, Long>> counts) {
+		JsonObject json = new JsonObject();
+		counts.forEach((plugin, locales) -> {
+			JsonObject object = new JsonObject();
+			locales.forEach(object::addProperty);
+			json.add(plugin, object);
+		});
+		return json;
+	}
+
+	private static class Timer {
+
+		private final LongAdder calls = new LongAdder();
+		private final LongAdder total = new LongAdder();
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+		void add(long nanos) {
+			calls.increment();
+			total.add(nanos);
+			max.accumulate(nanos);
+		}
+
+		PlaceholderTiming snapshot() {
+			return new PlaceholderTiming(calls.sum(), total.sum(), max.get());
+		}
+
+	}
+
+}
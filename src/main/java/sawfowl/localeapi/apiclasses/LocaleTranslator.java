@@ -0,0 +1,108 @@
+package sawfowl.localeapi.apiclasses;
+
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.TranslationArgument;
+import net.kyori.adventure.translation.Translator;
+
+import sawfowl.localeapi.api.LocaleService;
+import sawfowl.localeapi.api.PluginLocale;
+
+/**
+ * Rendering {@link TranslatableComponent} with the localizations of the registered plugins.<br>
+ * Translation key - plugin ID and the localization path separated by dots, for example <b>"localeapi:Messages.Reload"</b>.<br>
+ * Rendered components are cached per key and locale until the generation of the localization changes.
+ */
+public final class LocaleTranslator implements Translator {
+
+	private static final Key NAME = Key.key("localeapi", "locales");
+
+	private final LocaleService localeService;
+	private final Set<String> plugins = ConcurrentHashMap.newKeySet();
+	private final Map<String, Object[]> paths = new ConcurrentHashMap<String, Object[]>();
+	private final Map<RenderKey, Rendered> rendered = new ConcurrentHashMap<RenderKey, Rendered>();
+
+	public LocaleTranslator(LocaleService localeService) {
+		this.localeService = localeService;
+	}
+
+	public static String key(String pluginID, Object... path) {
+		StringBuilder builder = new StringBuilder(pluginID).append(':');
+		for(int i = 0; i < path.length; i++) {
+			if(i > 0) builder.append('.');
+			builder.append(path[i]);
+		}
+		return builder.toString();
+	}
+
+	public void register(String pluginID) {
+		plugins.add(pluginID);
+	}
+
+	public boolean isRegistered(String pluginID) {
+		return plugins.contains(pluginID);
+	}
+
+	/**
+	 * Creating the key and remembering its path, so path elements containing dots are resolved correctly.
+	 */
+	public String createKey(String pluginID, Object... path) {
+		String key = key(pluginID, path);
+		paths.putIfAbsent(key, path.clone());
+		return key;
+	}
+
+	@Override
+	public Key name() {
+		return NAME;
+	}
+
+	@Override
+	public MessageFormat translate(String key, Locale locale) {
+		return null;
+	}
+
+	@Override
+	public Component translate(TranslatableComponent component, Locale locale) {
+		String key = component.key();
+		int separator = key.indexOf(':');
+		if(separator <= 0 || !plugins.contains(key.substring(0, separator))) return null;
+		String pluginID = key.substring(0, separator);
+		PluginLocale pluginLocale = localeService.getOrDefaultLocale(pluginID, locale);
+		if(pluginLocale == null) return null;
+		RenderKey renderKey = new RenderKey(key, locale);
+		Rendered cached = rendered.get(renderKey);
+		long generation = pluginLocale.getGeneration();
+		if(cached == null || cached.locale() != pluginLocale || cached.generation() != generation) {
+			Object[] path = paths.get(key);
+			if(path == null) path = key.substring(separator + 1).split("\\.");
+			cached = new Rendered(pluginLocale, generation, pluginLocale.getComponent(path));
+			rendered.put(renderKey, cached);
+		}
+		Component result = applyArguments(cached.component(), component.arguments());
+		if(component.style().isEmpty() && component.children().isEmpty()) return result;
+		return Component.textOfChildren(result).style(component.style()).append(component.children());
+	}
+
+	private Component applyArguments(Component component, List<TranslationArgument> arguments) {
+		for(int i = 0; i < arguments.size(); i++) {
+			Component argument = arguments.get(i).asComponent();
+			component = component.replaceText(TextReplacementConfig.builder().matchLiteral("{" + i + "}").replacement(argument).build());
+		}
+		return component;
+	}
+
+	private record RenderKey(String key, Locale locale) {}
+
+	private record Rendered(PluginLocale locale, long generation, Component component) {}
+
+}
@@ -0,0 +1,157 @@
+package sawfowl.localeapi.apiclasses;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import net.kyori.adventure.text.Component;
+
+import sawfowl.localeapi.api.Logger;
+import sawfowl.localeapi.api.MissingKey;
+import sawfowl.localeapi.api.TextUtils;
+
+/**
+ * Registry of the requested localization paths that were not found.<br>
+ * The placeholder message for each path is created once and reused, and the miss is logged only the first time.
+ */
+public final class MissingKeyRegistry {
+
+	private static final MissingKeyRegistry INSTANCE = new MissingKeyRegistry();
+
+	private final Map<String, Misses> locales = new ConcurrentHashMap<String, Misses>();
+
+	public static MissingKeyRegistry get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Getting the misses of the locale.
+	 */
+	public Misses forLocale(String pluginID, String locale) {
+		return locales.computeIfAbsent(pluginID + '\u001F' + locale, key -> new Misses(pluginID, locale));
+	}
+
+	/**
+	 * All registered misses, most frequent first.
+	 */
+	public List<MissingKey> getMissingKeys() {
+		List<MissingKey> result = new ArrayList<MissingKey>();
+		locales.values().forEach(misses -> misses.entries.forEach((path, entry) -> result.add(new MissingKey(misses.pluginID, misses.locale, entry.name, entry.count.sum()))));
+		result.sort(Comparator.comparingLong(MissingKey::count).reversed().thenComparing(MissingKey::pluginID).thenComparing(MissingKey::locale).thenComparing(MissingKey::path));
+		return result;
+	}
+
+	/**
+	 * Writing all registered misses to the file.<br>
+	 * Line format: <b>count plugin locale path</b>, separated by tabs.
+	 */
+	public void dump(Path file) throws IOException {
+		if(file.getParent() != null) Files.createDirectories(file.getParent());
+		try(BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			for(MissingKey key : getMissingKeys()) {
+				writer.write(key.count() + "\t" + key.pluginID() + "\t" + key.locale() + "\t" + key.path());
+				writer.newLine();
+			}
+		}
+	}
+
+	public static final class Misses {
+
+		private final String pluginID;
+		private final String locale;
+		private final Map<PathKey, Entry> entries = new ConcurrentHashMap<PathKey, Entry>();
+
+		private Misses(String pluginID, String locale) {
+			this.pluginID = pluginID;
+			this.locale = locale;
+		}
+
+		/**
+		 * Forgetting the misses of the paths that are found now, so they are no longer reported.<br>
+		 * The other misses keep their counts. Called when the locale or a locale of its fallback chain is reloaded or changed.
+		 * 
+		 * @param resolved - Checks whether the path is found in the locale or its fallback chain.
+		 */
+		public void forgetResolved(Predicate<Object[]> resolved) {
+			entries.keySet().removeIf(key -> resolved.test(key.path()));
+		}
+
+		/**
+		 * Forgetting the miss of the path added to the locale.
+		 */
+		public void forget(Object... path) {
+			entries.remove(PathKey.lookup(path));
+		}
+
+		/**
+		 * Registering the miss of the path.
+		 * 
+		 * @param name - Readable path name. Called only for the first miss.
+		 * @param message - Placeholder message. Called only for the first miss.
+		 */
+		public Entry miss(Logger logger, Object[] path, Supplier<String> name, Supplier<String> message) {
+			Entry entry = entries.get(PathKey.lookup(path));
+			if(entry == null) {
+				Entry created = new Entry(name.get(), message.get());
+				entry = entries.putIfAbsent(PathKey.of(path), created);
+				if(entry == null) {
+					entry = created;
+					logger.error("Missing localization path " + created.name + " in the locale " + locale + " of the plugin " + pluginID + ". Further requests of this path will not be logged.");
+				}
+			}
+			entry.count.increment();
+			return entry;
+		}
+
+	}
+
+	public static final class Entry {
+
+		private final String name;
+		private final String message;
+		private final Component component;
+		private final List<String> strings;
+		private final List<Component> components;
+		private final LongAdder count = new LongAdder();
+
+		private Entry(String name, String message) {
+			this.name = name;
+			this.message = message;
+			component = TextUtils.deserializeLegacy("&c" + message);
+			strings = List.of(message);
+			components = List.of(component);
+		}
+
+		public String getMessage() {
+			return message;
+		}
+
+		public Component getComponent() {
+			return component;
+		}
+
+		public List<String> getStrings() {
+			return strings;
+		}
+
+		public List<Component> getComponents() {
+			return components;
+		}
+
+		public long getCount() {
+			return count.sum();
+		}
+
+	}
+
+}
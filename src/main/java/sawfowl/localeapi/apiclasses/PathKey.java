@@ -0,0 +1,52 @@
+package sawfowl.localeapi.apiclasses;
+
+import java.util.Arrays;
+
+/**
+ * Localization path used as a cache key.
+ */
+public final class PathKey {
+
+	private final Object[] path;
+	private final int hash;
+
+	private PathKey(Object[] path) {
+		this.path = path;
+		hash = Arrays.hashCode(path);
+	}
+
+	/**
+	 * Key for a cache lookup. The array is not copied and must not be changed while the key is used.
+	 */
+	public static PathKey lookup(Object... path) {
+		return new PathKey(path);
+	}
+
+	/**
+	 * Key for storing in a cache. The array is copied.
+	 */
+	public static PathKey of(Object... path) {
+		return new PathKey(path.clone());
+	}
+
+	public Object[] path() {
+		return path.clone();
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj) return true;
+		return obj instanceof PathKey other && hash == other.hash && Arrays.equals(path, other.path);
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(path);
+	}
+
+}
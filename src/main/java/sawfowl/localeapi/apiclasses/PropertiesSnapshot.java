@@ -0,0 +1,130 @@
+package sawfowl.localeapi.apiclasses;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Immutable content of a <b>'*.properties'</b> localization.<br>
+ * Multiline values are split into lists once, when the snapshot is created.
+ */
+public final class PropertiesSnapshot {
+
+	public static final String LINE_SEPARATOR = "%LINE_SEPARATOR%";
+	private static final PropertiesSnapshot EMPTY = new PropertiesSnapshot(Map.of(), Map.of());
+
+	private final Map<String, String> values;
+	private final Map<String, List<String>> lists;
+
+	private PropertiesSnapshot(Map<String, String> values, Map<String, List<String>> lists) {
+		this.values = values;
+		this.lists = lists;
+	}
+
+	public static PropertiesSnapshot empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * Reading the file in UTF-8.<br>
+	 * Files saved in an older version of the plugin with a single byte encoding are read in ISO-8859-1.
+	 */
+	public static PropertiesSnapshot load(Path path) throws IOException {
+		Properties properties = new Properties();
+		try(BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		} catch (MalformedInputException e) {
+			properties.clear();
+			try(BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.ISO_8859_1)) {
+				properties.load(reader);
+			}
+		}
+		Map<String, String> values = new HashMap<String, String>();
+		properties.forEach((key, value) -> values.put(key.toString(), value.toString()));
+		return of(values);
+	}
+
+	public static PropertiesSnapshot of(Map<String, String> values) {
+		if(values.isEmpty()) return EMPTY;
+		Map<String, List<String>> lists = new HashMap<String, List<String>>();
+		values.forEach((key, value) -> {
+			if(value.indexOf('\n') != -1 || value.contains(LINE_SEPARATOR)) lists.put(key, split(value));
+		});
+		return new PropertiesSnapshot(Map.copyOf(values), Map.copyOf(lists));
+	}
+
+	public boolean containsKey(String key) {
+		return values.containsKey(key);
+	}
+
+	/**
+	 * @return null if the key is not present.
+	 */
+	public String get(String key) {
+		return values.get(key);
+	}
+
+	/**
+	 * @return null if the key is not present.
+	 */
+	public List<String> getList(String key) {
+		List<String> list = lists.get(key);
+		if(list != null) return list;
+		String value = values.get(key);
+		return value == null ? null : List.of(value);
+	}
+
+	/**
+	 * Copy of the snapshot values.
+	 */
+	public Map<String, String> values() {
+		return new HashMap<String, String>(values);
+	}
+
+	public int size() {
+		return values.size();
+	}
+
+	public void store(Writer writer) throws IOException {
+		Properties properties = new Properties();
+		properties.putAll(values);
+		properties.store(writer, "");
+	}
+
+	/**
+	 * Joining the strings into one value, which is split back by {@link #getList(String)}.
+	 */
+	public static String join(List<String> strings) {
+		return String.join(LINE_SEPARATOR, strings);
+	}
+
+	/**
+	 * Splitting the value by {@value #LINE_SEPARATOR}, or by line breaks if there is no such separator in the value.<br>
+	 * Trailing empty strings are removed in the same way as {@link String#split(String)} does.
+	 */
+	public static List<String> split(String value) {
+		if(value.isEmpty()) return List.of(value);
+		String separator = value.contains(LINE_SEPARATOR) ? LINE_SEPARATOR : "\n";
+		List<String> result = new ArrayList<String>();
+		int from = 0;
+		int index;
+		while((index = value.indexOf(separator, from)) != -1) {
+			result.add(value.substring(from, index));
+			from = index + separator.length();
+		}
+		result.add(value.substring(from));
+		int size = result.size();
+		while(size > 0 && result.get(size - 1).isEmpty()) size--;
+		return List.copyOf(result.subList(0, size));
+	}
+
+}
@@ -0,0 +1,56 @@
+package sawfowl.localeapi.apiclasses;
+
+import java.lang.reflect.Type;
+import java.util.Optional;
+
+import io.leangen.geantyref.GenericTypeReflector;
+
+import sawfowl.localeapi.api.LocaleReference;
+import sawfowl.localeapi.api.LocaleReferenceAccessor;
+
+/**
+ * Lookup of the {@link LocaleReferenceAccessor} classes generated by the annotation processor.<br>
+ * The result is cached for each class, including the absence of the accessor.
+ */
+public final class ReferenceAccessors {
+
+	private static final ClassValue<Optional<LocaleReferenceAccessor<?>>> ACCESSORS = new ClassValue<Optional<LocaleReferenceAccessor<?>>>() {
+		@Override
+		protected Optional<LocaleReferenceAccessor<?>> computeValue(Class<?> type) {
+			return load(type);
+		}
+	};
+
+	private ReferenceAccessors() {}
+
+	@SuppressWarnings("unchecked")
+	public static <T extends LocaleReference> Optional<LocaleReferenceAccessor<T>> find(Class<T> type) {
+		return ACCESSORS.get(type).map(accessor -> (LocaleReferenceAccessor<T>) accessor);
+	}
+
+	public static Optional<LocaleReferenceAccessor<?>> find(Type type) {
+		Class<?> clazz = GenericTypeReflector.erase(type);
+		return LocaleReference.class.isAssignableFrom(clazz) ? ACCESSORS.get(clazz) : Optional.empty();
+	}
+
+	public static boolean isPresent(Type type) {
+		return find(type).isPresent();
+	}
+
+	private static Optional<LocaleReferenceAccessor<?>> load(Class<?> type) {
+		if(!LocaleReference.class.isAssignableFrom(type) || type.isInterface() || type.getClassLoader() == null) return Optional.empty();
+		String name = type.getName();
+		int packageEnd = name.lastIndexOf('.');
+		String accessorName = name.substring(0, packageEnd + 1) + name.substring(packageEnd + 1).replace('$', '_') + LocaleReferenceAccessor.SUFFIX;
+		try {
+			Object accessor = Class.forName(accessorName, true, type.getClassLoader()).getConstructor().newInstance();
+			return accessor instanceof LocaleReferenceAccessor<?> found && found.type() == type ? Optional.of(found) : Optional.empty();
+		} catch (ClassNotFoundException e) {
+			return Optional.empty();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			e.printStackTrace();
+			return Optional.empty();
+		}
+	}
+
+}
@@ -0,0 +1,67 @@
+package sawfowl.localeapi.apiclasses;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.spongepowered.configurate.objectmapping.meta.Setting;
+import org.spongepowered.configurate.util.NamingSchemes;
+
+/**
+ * Cached accessors for the fields of {@link sawfowl.localeapi.api.LocaleReference} classes annotated with {@link Setting}.<br>
+ * The fields of each class are looked up once, reloads use the created accessors.<br>
+ * Keys of the fields without a {@link Setting} value are named as the object mapper names them.
+ */
+final class ReferenceFields {
+
+	private static final Accessor[] EMPTY = new Accessor[0];
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final ClassValue<Accessor[]> ACCESSORS = new ClassValue<Accessor[]>() {
+		@Override
+		protected Accessor[] computeValue(Class<?> type) {
+			return create(type);
+		}
+	};
+
+	private ReferenceFields() {}
+
+	static Accessor[] of(Class<?> type) {
+		return ACCESSORS.get(type);
+	}
+
+	private static Accessor[] create(Class<?> type) {
+		if(type.isPrimitive() || type.isArray() || type.isEnum()) return EMPTY;
+		List<Accessor> accessors = new ArrayList<Accessor>();
+		for(Field field : type.getDeclaredFields()) {
+			Setting setting = field.getAnnotation(Setting.class);
+			if(setting == null) continue;
+			try {
+				field.setAccessible(true);
+				MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+				if(Modifier.isStatic(field.getModifiers())) getter = MethodHandles.dropArguments(getter, 0, Object.class);
+				accessors.add(new Accessor(setting.value().isEmpty() ? NamingSchemes.LOWER_CASE_DASHED.coerce(field.getName()) : setting.value(), getter.asType(GETTER_TYPE)));
+			} catch (IllegalAccessException | RuntimeException e) {
+				e.printStackTrace();
+			}
+		}
+		return accessors.isEmpty() ? EMPTY : accessors.toArray(Accessor[]::new);
+	}
+
+	record Accessor(String key, MethodHandle getter) {
+
+		Object get(Object source) {
+			try {
+				return (Object) getter.invokeExact(source);
+			} catch (Throwable e) {
+				e.printStackTrace();
+				return null;
+			}
+		}
+
+	}
+
+}
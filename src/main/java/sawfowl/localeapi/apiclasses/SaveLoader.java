@@ -0,0 +1,48 @@
+package sawfowl.localeapi.apiclasses;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.function.BiFunction;
+
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.loader.ConfigurationLoader;
+
+import sawfowl.localeapi.utils.WriteBehindSaver;
+
+/**
+ * Loader for the background saves of one localization file.<br>
+ * The loader is built once for each item serializer variant and reused, only the temporary file it writes to is changed before each save.<br>
+ * {@link WriteBehindSaver} writes the files one at a time, so the target does not change during a write.
+ */
+final class SaveLoader {
+
+	private final BiFunction<Integer, Callable<BufferedWriter>, ConfigurationLoader<?>> factory;
+	private ConfigurationLoader<?> loader;
+	private int variant;
+	private Path target;
+
+	/**
+	 * @param factory - Builds the loader for the serializer variant with the given sink.
+	 */
+	SaveLoader(BiFunction<Integer, Callable<BufferedWriter>, ConfigurationLoader<?>> factory) {
+		this.factory = factory;
+	}
+
+	synchronized void save(int variant, Path temp, ConfigurationNode node) throws ConfigurateException {
+		if(loader == null || this.variant != variant) {
+			loader = factory.apply(variant, () -> Files.newBufferedWriter(target, StandardCharsets.UTF_8));
+			this.variant = variant;
+		}
+		target = temp;
+		try {
+			loader.save(node);
+		} finally {
+			target = null;
+		}
+	}
+
+}
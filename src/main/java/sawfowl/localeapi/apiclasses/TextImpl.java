@@ -16,12 +16,15 @@ import org.spongepowered.api.data.persistence.Queries;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextReplacementConfig;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import sawfowl.localeapi.api.ClickCallback;
 import sawfowl.localeapi.api.Text;
 import sawfowl.localeapi.api.TextUtils;
 
 public class TextImpl implements Text {
 
 	private Component component = Component.empty();
+	// Reset on every change, so an unchanged component is compacted and counted only once.
+	private boolean compacted = false;
 
 	public Builder builder() {
 		return new Builder() {
@@ -36,8 +39,13 @@ public class TextImpl implements Text {
 			@Override
 			public Text fromComponent(Component component) {
 				TextImpl.this.component = component == null ? Component.empty() : component;
+				compacted = false;
 				return build();
 			}
+			@Override
+			public Builder immutable() {
+				return ImmutableTextImpl.builder(component);
+			}
 		};
 	}
 
@@ -55,12 +63,17 @@ public class TextImpl implements Text {
 
 	@Override
 	public Component get() {
+		if(!compacted && ComponentCompactor.isEnabled()) {
+			component = ComponentCompactor.compact(component);
+			compacted = true;
+		}
 		return component;
 	}
 
 	@Override
 	public Text append(Component component) {
 		this.component = this.component.append(component);
+		compacted = false;
 		return this;
 	}
 
@@ -77,6 +90,7 @@ public class TextImpl implements Text {
 	@Override
 	public Text replace(String key, Component value) {
 		component = component.replaceText(TextReplacementConfig.builder().match(key).replacement(value).build());
+		compacted = false;
 		return this;
 	}
 
@@ -129,12 +143,21 @@ public class TextImpl implements Text {
 	@Override
 	public Text createCallBack(Consumer<CommandCause> callback) {
 		component = component.clickEvent(SpongeComponents.executeCallback(callback));
+		compacted = false;
+		return this;
+	}
+
+	@Override
+	public Text createCallBack(ClickCallback<?> callback) {
+		component = component.clickEvent(callback.clickEvent());
+		compacted = false;
 		return this;
 	}
 
 	@Override
 	public Text removeDecorations() {
 		component = TextUtils.removeDecorations(component);
+		compacted = false;
 		return this;
 	}
 
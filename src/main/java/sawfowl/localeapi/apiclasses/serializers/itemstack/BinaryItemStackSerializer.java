@@ -0,0 +1,35 @@
+package sawfowl.localeapi.apiclasses.serializers.itemstack;
+
+import java.lang.reflect.Type;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.spongepowered.api.item.inventory.ItemStack;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.serialize.TypeSerializer;
+
+import sawfowl.localeapi.api.serializetools.SerializeOptions;
+import sawfowl.localeapi.api.serializetools.itemstack.SerializedItemStack;
+
+/**
+ * Item components are written as Base64 of the Sponge NBT data format.<br>
+ * Items written by other variants are also read, so the config is converted on the next save.
+ */
+public class BinaryItemStackSerializer implements TypeSerializer<ItemStack> {
+
+	@Override
+	public ItemStack deserialize(Type type, ConfigurationNode node) throws SerializationException {
+		if(!node.node("Binary").virtual()) return node.get(SerializedItemStack.class).getItemStack();
+		if(!node.node("Components").virtual() && !node.node("Components").isMap()) return new SerializedItemStack(node.node("ItemType").getString("minecraft:air"), node.node("Quantity").getInt(1), node.node("Components").getString()).getItemStack();
+		return SerializeOptions.SERIALIZER_COLLECTION_VARIANT_2.get(ItemStack.class).deserialize(type, node);
+	}
+
+	@Override
+	public void serialize(Type type, @Nullable ItemStack item, ConfigurationNode node) throws SerializationException {
+		SerializedItemStack stack = new SerializedItemStack(item).toBinaryComponents();
+		node.node("ItemType").set(stack.getItemTypeAsString());
+		node.node("Quantity").set(stack.getQuantity());
+		if(stack.getComponentsAsBinary() != null) node.node("Binary").set(stack.getComponentsAsBinary());
+	}
+
+}
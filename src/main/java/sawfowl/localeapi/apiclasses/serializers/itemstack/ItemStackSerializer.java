@@ -25,6 +25,7 @@ public class ItemStackSerializer implements TypeSerializer<ItemStack> {
 
 	@Override
 	public ItemStack deserialize(Type type, ConfigurationNode node) throws SerializationException {
+		if(!node.node("Binary").virtual()) return node.get(SerializedItemStack.class).getItemStack();
 		if(!node.node("Components").virtual() && !node.node("Components").isMap()) return node.get(SerializedItemStack.class).getItemStack();
 		if((!node.node("UnsafeData").virtual() && !node.node("UnsafeData").empty() && node.node("UnsafeData").isMap()) || (!node.node("components").virtual() && !node.node("components").empty() && node.node("components").isMap())) return SerializeOptions.SERIALIZER_COLLECTION_VARIANT_3.get(ItemStack.class).deserialize(type, node);
 		return createStack(node);
@@ -23,7 +23,7 @@ public class JsonArraySerializer implements TypeSerializer<JsonArray> {
 	}
 
 	public static void serializeJsonArray(JsonArray array, ConfigurationNode node) throws SerializationException {
-		if(!array.isEmpty()) node.setList(JsonElement.class, array.asList());
+		JsonNodeConverter.writeArray(array, node);
 	}
 
 	private JsonArray get(JsonElement element) {
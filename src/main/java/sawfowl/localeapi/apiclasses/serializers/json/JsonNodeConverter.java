@@ -0,0 +1,154 @@
+package sawfowl.localeapi.apiclasses.serializers.json;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.commons.lang3.math.NumberUtils;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Direct conversion between configuration nodes and Gson elements.<br>
+ * The tree is walked once in each direction, without intermediate JSON strings.<br>
+ * Strings containing JSON are stored in the node under the {@value #SERIALIZED_JSON_OBJECT} key and restored as strings.
+ */
+public final class JsonNodeConverter {
+
+	public static final Gson GSON = new Gson();
+	public static final String SERIALIZED_JSON_OBJECT = "SerializedJsonObject";
+	private static final TypeAdapter<JsonElement> STRICT_ADAPTER = GSON.getAdapter(JsonElement.class);
+
+	private JsonNodeConverter() {}
+
+	/**
+	 * Converting the node to a Gson element.
+	 */
+	public static JsonElement toJson(ConfigurationNode node) {
+		if(node.isMap()) {
+			Map<Object, ? extends ConfigurationNode> children = node.childrenMap();
+			ConfigurationNode serialized = children.get(SERIALIZED_JSON_OBJECT);
+			if(serialized != null) return restoreSerialized(serialized);
+			JsonObject object = new JsonObject();
+			for(Entry<Object, ? extends ConfigurationNode> entry : children.entrySet()) object.add(String.valueOf(entry.getKey()), toJson(entry.getValue()));
+			return object;
+		}
+		if(node.isList()) {
+			List<? extends ConfigurationNode> children = node.childrenList();
+			JsonArray array = new JsonArray(children.size());
+			for(ConfigurationNode child : children) array.add(toJson(child));
+			return array;
+		}
+		return toJsonPrimitive(node.raw());
+	}
+
+	/**
+	 * Writing the Gson element to the node.<br>
+	 * Empty objects and null values are skipped.
+	 */
+	public static void toNode(JsonElement element, ConfigurationNode node) throws SerializationException {
+		if(element.isJsonObject()) {
+			writeObject(element.getAsJsonObject(), node);
+		} else if(element.isJsonArray()) {
+			writeArray(element.getAsJsonArray(), node);
+		} else if(element.isJsonPrimitive()) writePrimitive(element.getAsJsonPrimitive(), node);
+	}
+
+	static void writeObject(JsonObject object, ConfigurationNode node) throws SerializationException {
+		for(Entry<String, JsonElement> entry : object.entrySet()) {
+			JsonElement value = entry.getValue();
+			if(value.isJsonPrimitive()) {
+				writePrimitive(value.getAsJsonPrimitive(), node.node(entry.getKey()));
+			} else if(value.isJsonObject() && value.getAsJsonObject().size() > 0) {
+				writeObject(value.getAsJsonObject(), node.node(entry.getKey()));
+			} else if(value.isJsonArray()) writeArray(value.getAsJsonArray(), node.node(entry.getKey()));
+		}
+	}
+
+	static void writeArray(JsonArray array, ConfigurationNode node) throws SerializationException {
+		if(array.isEmpty()) return;
+		node.raw(Collections.emptyList());
+		for(JsonElement element : array) toNode(element, node.appendListNode());
+	}
+
+	static void writePrimitive(JsonPrimitive primitive, ConfigurationNode node) throws SerializationException {
+		if(primitive.isNumber()) {
+			node.set(NumberUtils.createNumber(primitive.getAsNumber().toString()));
+		} else if(primitive.isBoolean()) {
+			node.set(primitive.getAsBoolean());
+		} else if(primitive.isString()) {
+			String string = primitive.getAsString();
+			JsonElement json = parseStrict(string);
+			if(json != null) {
+				toNode(json, node.node(SERIALIZED_JSON_OBJECT));
+			} else if(string.length() == 1) {
+				node.set(string.charAt(0));
+			} else node.set(string);
+		}
+	}
+
+	/**
+	 * The whole string must be one JSON value. Text after the value, as in "10 coins", makes it a plain string.
+	 * 
+	 * @return null if the string is not a JSON.
+	 */
+	static JsonElement parseStrict(String string) {
+		try {
+			JsonReader reader = new JsonReader(new StringReader(string));
+			JsonElement element = STRICT_ADAPTER.read(reader);
+			return reader.peek() == JsonToken.END_DOCUMENT ? element : null;
+		} catch (IOException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	private static JsonElement restoreSerialized(ConfigurationNode serialized) {
+		if(serialized.isList()) {
+			List<? extends ConfigurationNode> children = serialized.childrenList();
+			JsonArray array = new JsonArray(children.size());
+			for(ConfigurationNode child : children) array.add(GSON.toJson(toPlainJson(child)));
+			return array;
+		}
+		return new JsonPrimitive(toJson(serialized).toString());
+	}
+
+	/**
+	 * Conversion without restoring the serialized JSON strings.
+	 */
+	private static JsonElement toPlainJson(ConfigurationNode node) {
+		if(node.isMap()) {
+			JsonObject object = new JsonObject();
+			for(Entry<Object, ? extends ConfigurationNode> entry : node.childrenMap().entrySet()) object.add(String.valueOf(entry.getKey()), toPlainJson(entry.getValue()));
+			return object;
+		}
+		if(node.isList()) {
+			JsonArray array = new JsonArray();
+			for(ConfigurationNode child : node.childrenList()) array.add(toPlainJson(child));
+			return array;
+		}
+		return toJsonPrimitive(node.raw());
+	}
+
+	private static JsonElement toJsonPrimitive(Object raw) {
+		if(raw == null) return JsonNull.INSTANCE;
+		if(raw instanceof String string) return new JsonPrimitive(string);
+		if(raw instanceof Number number) return new JsonPrimitive(number);
+		if(raw instanceof Boolean bool) return new JsonPrimitive(bool);
+		if(raw instanceof Character character) return new JsonPrimitive(character);
+		return GSON.toJsonTree(raw);
+	}
+
+}
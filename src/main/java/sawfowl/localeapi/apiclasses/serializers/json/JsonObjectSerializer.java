@@ -1,7 +1,6 @@
 package sawfowl.localeapi.apiclasses.serializers.json;
 
 import java.lang.reflect.Type;
-import java.util.Map.Entry;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -9,17 +8,11 @@ import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.serialize.SerializationException;
 import org.spongepowered.configurate.serialize.TypeSerializer;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.TypeAdapter;
 
 public class JsonObjectSerializer implements TypeSerializer<JsonObject> {
 
-	final TypeAdapter<JsonElement> strictAdapter = new Gson().getAdapter(JsonElement.class);
-
 	@Override
 	public JsonObject deserialize(Type type, ConfigurationNode node) throws SerializationException {
 		return get(JsonElementSerializer.createFromNode(node));
@@ -31,15 +24,7 @@ public class JsonObjectSerializer implements TypeSerializer<JsonObject> {
 	}
 
 	public static void serializeJsonObject(JsonObject jsonObject, ConfigurationNode node) throws SerializationException {
-		for(Entry<String, JsonElement> entry : jsonObject.entrySet()) {
-			if(entry.getValue().isJsonPrimitive()) {
-				node.node(entry.getKey()).set(JsonPrimitive.class, entry.getValue().getAsJsonPrimitive());
-			} else if(entry.getValue().isJsonObject() && entry.getValue().getAsJsonObject().size() > 0) {
-				node.node(entry.getKey()).set(JsonObject.class, entry.getValue().getAsJsonObject());
-			} else if(entry.getValue().isJsonArray()) {
-				node.node(entry.getKey()).set(JsonArray.class, entry.getValue().getAsJsonArray());
-			}
-		}
+		JsonNodeConverter.writeObject(jsonObject, node);
 	}
 
 	private JsonObject get(JsonElement element) {
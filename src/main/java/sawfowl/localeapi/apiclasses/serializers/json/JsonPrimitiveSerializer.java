@@ -1,6 +1,5 @@
 package sawfowl.localeapi.apiclasses.serializers.json;
 
-import java.io.IOException;
 import java.lang.reflect.Type;
 
 import org.apache.commons.lang3.math.NumberUtils;
@@ -9,16 +8,10 @@ import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.serialize.SerializationException;
 import org.spongepowered.configurate.serialize.TypeSerializer;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
-import com.google.gson.TypeAdapter;
 
 public class JsonPrimitiveSerializer implements TypeSerializer<JsonPrimitive> {
 
-	private static final TypeAdapter<JsonElement> STRICT_ADAPTER = new Gson().getAdapter(JsonElement.class);
-
 	@Override
 	public JsonPrimitive deserialize(Type type, ConfigurationNode node) throws SerializationException {
 		return NumberUtils.isCreatable(node.raw().toString()) ?
@@ -36,30 +29,7 @@ public class JsonPrimitiveSerializer implements TypeSerializer<JsonPrimitive> {
 	}
 
 	public static void serializeJsonPrimitive(JsonPrimitive primitive, ConfigurationNode node) throws SerializationException {
-		if(primitive.isNumber()) {
-			node.set(convertPrimitiveNumber(primitive.getAsNumber()));
-		} else if(primitive.isBoolean()) {
-			node.set(primitive.getAsBoolean());
-		} else if(primitive.isString()) {
-			if(isJsonString(primitive.getAsString())) {
-				node.node("SerializedJsonObject").set(JsonElement.class, JsonParser.parseString(primitive.getAsString()));
-			} else if(primitive.getAsString().length() == 1) {
-				node.set(primitive.getAsString().charAt(0));
-			} else node.set(primitive.getAsString());
-		}
-	}
-
-	private static Number convertPrimitiveNumber(Number number) {
-		return NumberUtils.createNumber(number.toString());
-	}
-
-	private static boolean isJsonString(String string) {
-		try {
-			STRICT_ADAPTER.fromJson(string);
-			return true;
-		} catch (IOException e) {
-			return false;
-		}
+		JsonNodeConverter.writePrimitive(primitive, node);
 	}
 
 	private boolean isBoolean(String string) {
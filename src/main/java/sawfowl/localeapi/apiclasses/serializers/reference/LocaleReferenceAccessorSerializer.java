@@ -0,0 +1,51 @@
+package sawfowl.localeapi.apiclasses.serializers.reference;
+
+import java.lang.reflect.Type;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.ConfigurationOptions;
+import org.spongepowered.configurate.serialize.SerializationException;
+import org.spongepowered.configurate.serialize.TypeSerializer;
+
+import sawfowl.localeapi.api.LocaleReference;
+import sawfowl.localeapi.api.LocaleReferenceAccessor;
+import sawfowl.localeapi.apiclasses.ReferenceAccessors;
+
+/**
+ * Serializer of the {@link LocaleReference} classes that have a generated {@link LocaleReferenceAccessor}.<br>
+ * Registered before the object mapper, so such classes are mapped without reflection.
+ */
+public class LocaleReferenceAccessorSerializer implements TypeSerializer<LocaleReference> {
+
+	@Override
+	public LocaleReference deserialize(Type type, ConfigurationNode node) throws SerializationException {
+		return accessor(type).load(node);
+	}
+
+	@Override
+	public void serialize(Type type, @Nullable LocaleReference obj, ConfigurationNode node) throws SerializationException {
+		if(obj == null) {
+			node.raw(null);
+			return;
+		}
+		accessor(type).save(obj, node);
+	}
+
+	@Override
+	public @Nullable LocaleReference emptyValue(Type type, ConfigurationOptions options) {
+		try {
+			return accessor(type).load(BasicConfigurationNode.root(options));
+		} catch (SerializationException e) {
+			return null;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private LocaleReferenceAccessor<LocaleReference> accessor(Type type) throws SerializationException {
+		return (LocaleReferenceAccessor<LocaleReference>) ReferenceAccessors.find(type).orElseThrow(() -> new SerializationException(type, "No generated accessor for the type"));
+	}
+
+}
@@ -28,6 +28,7 @@ import sawfowl.localeapi.api.LocaleService;
 import sawfowl.localeapi.api.Logger;
 import sawfowl.localeapi.api.PluginLocale;
 import sawfowl.localeapi.api.event.LocaleEvent;
+import sawfowl.localeapi.apiclasses.LocaleMetricsRegistry;
 
 import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
@@ -49,6 +50,7 @@ public class WatchLocales {
 		pluginContainer = LocaleAPI.getPluginContainer();
 		cause = Cause.of(EventContext.builder().add(EventContextKeys.PLUGIN, pluginContainer).build(), pluginContainer);
 		configDirectory = path;
+		LocaleMetricsRegistry.get().setWatcherQueue(updateInfo::size);
 		try {
 			watchService = FileSystems.getDefault().newWatchService();
 		} catch (IOException e) {
@@ -115,7 +117,7 @@ public class WatchLocales {
 	}
 
 	private void checkOnCreate(String pluginID, String fileName) {
-		if(fileName.contains("tmp")) return;
+		if(WriteBehindSaver.get().isOwnWrite(configDirectory.resolve(pluginID).resolve(fileName))) return;
 		long oldTime = System.currentTimeMillis();
 		updateInfo.removeIf(info -> info.plugin.equals(pluginID) && info.fileName.equals(fileName));
 		String configTypeName = FileUtils.getExtension(fileName);
@@ -135,7 +137,7 @@ public class WatchLocales {
 	}
 
 	private void checkOnModify(String pluginID, String fileName) {
-		if(fileName.contains("tmp")) return;
+		if(WriteBehindSaver.get().isOwnWrite(configDirectory.resolve(pluginID).resolve(fileName))) return;
 		long oldTime = System.currentTimeMillis();
 		updateInfo.removeIf(info -> info.plugin.equals(pluginID) && info.fileName.equals(fileName));
 		String configTypeName = FileUtils.getExtension(fileName);
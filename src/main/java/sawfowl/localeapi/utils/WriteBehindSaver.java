@@ -0,0 +1,127 @@
+package sawfowl.localeapi.utils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import sawfowl.localeapi.api.Logger;
+
+/**
+ * Asynchronous saving of localization files.<br>
+ * Save requests for the same file within a short window are merged into one write.<br>
+ * The data is written to a temporary file, synchronized with the disk and atomically moved to the target path.
+ */
+public class WriteBehindSaver {
+
+	private static final WriteBehindSaver INSTANCE = new WriteBehindSaver();
+	private static final long DELAY = 250;
+
+	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "LocaleAPI-Saver");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final Map<Path, Pending> pending = new ConcurrentHashMap<Path, Pending>();
+	private final Map<Path, Written> written = new ConcurrentHashMap<Path, Written>();
+	private final AtomicLong generations = new AtomicLong();
+
+	public static WriteBehindSaver get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Scheduling the file save.<br>
+	 * If a save of this file is already scheduled, it will be replaced by the new one.
+	 *
+	 * @param path - Target file.
+	 * @param writer - Writes the data to the given temporary file.
+	 * @param logger - Logger for write errors.
+	 */
+	public void save(Path path, FileWriter writer, Logger logger) {
+		Path target = normalize(path);
+		if(pending.put(target, new Pending(writer, logger)) == null) executor.schedule(() -> write(target), DELAY, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Immediate writing of the scheduled save of the file, if any.
+	 */
+	public void flush(Path path) {
+		write(normalize(path));
+	}
+
+	/**
+	 * Immediate writing of all scheduled saves.
+	 */
+	public void flushAll() {
+		pending.keySet().forEach(this::write);
+	}
+
+	/**
+	 * Checking whether the current state of the file was written by this saver.<br>
+	 * Used by the file watcher to skip the reloading of the files saved by the plugins.
+	 */
+	public boolean isOwnWrite(Path path) {
+		Path target = normalize(path);
+		Written write = written.get(target);
+		if(write == null) return false;
+		if(write.modified < 0) return true;
+		try {
+			return Files.getLastModifiedTime(target).toMillis() == write.modified && Files.size(target) == write.size;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private synchronized void write(Path path) {
+		Pending task = pending.remove(path);
+		if(task == null) return;
+		long generation = generations.incrementAndGet();
+		Path temp = path.resolveSibling("." + path.getFileName() + "." + generation + ".tmp");
+		try {
+			task.writer.write(temp);
+			try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+				channel.force(true);
+			}
+			written.put(path, new Written(generation, -1, -1));
+			try {
+				Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+			written.put(path, new Written(generation, Files.getLastModifiedTime(path).toMillis(), Files.size(path)));
+		} catch (IOException e) {
+			written.remove(path);
+			task.logger.error("Failed to save file " + path + ": " + e.getLocalizedMessage());
+			try {
+				Files.deleteIfExists(temp);
+			} catch (IOException ignored) {
+			}
+		}
+	}
+
+	private Path normalize(Path path) {
+		return path.toAbsolutePath().normalize();
+	}
+
+	@FunctionalInterface
+	public interface FileWriter {
+
+		void write(Path temp) throws IOException;
+
+	}
+
+	private record Pending(FileWriter writer, Logger logger) {}
+
+	private record Written(long generation, long modified, long size) {}
+
+}
@@ -0,0 +1,61 @@
+package sawfowl.localeapi.apiclasses.serializers.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+class JsonNodeConverterTest {
+
+	@Test
+	void textStartingWithJsonValueIsNotJson() {
+		assertNull(JsonNodeConverter.parseStrict("10 coins"));
+		assertNull(JsonNodeConverter.parseStrict("true story"));
+		assertNull(JsonNodeConverter.parseStrict("5 %player%"));
+		assertNull(JsonNodeConverter.parseStrict("{\"a\":1} tail"));
+	}
+
+	@Test
+	void wholeJsonValueIsJson() {
+		assertNotNull(JsonNodeConverter.parseStrict("10"));
+		assertNotNull(JsonNodeConverter.parseStrict("{\"a\":1}"));
+		assertNotNull(JsonNodeConverter.parseStrict("[1, 2]"));
+	}
+
+	@Test
+	void textStartingWithJsonValueRoundTrips() throws SerializationException {
+		JsonObject object = new JsonObject();
+		object.addProperty("coins", "10 coins");
+		object.addProperty("story", "true story");
+		object.addProperty("placeholder", "5 %player%");
+		ConfigurationNode node = BasicConfigurationNode.root();
+		JsonNodeConverter.toNode(object, node);
+		assertEquals("10 coins", node.node("coins").raw());
+		assertEquals("true story", node.node("story").raw());
+		assertEquals("5 %player%", node.node("placeholder").raw());
+		assertEquals(object, JsonNodeConverter.toJson(node));
+	}
+
+	@Test
+	void jsonStringRoundTrips() throws SerializationException {
+		JsonObject object = new JsonObject();
+		object.addProperty("object", "{\"a\":1}");
+		object.addProperty("number", "10");
+		ConfigurationNode node = BasicConfigurationNode.root();
+		JsonNodeConverter.toNode(object, node);
+		assertFalse(node.node("object", JsonNodeConverter.SERIALIZED_JSON_OBJECT).virtual());
+		JsonElement restored = JsonNodeConverter.toJson(node);
+		assertTrue(restored.isJsonObject());
+		assertEquals(object, restored);
+	}
+
+}